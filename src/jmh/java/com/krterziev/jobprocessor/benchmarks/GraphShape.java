@@ -0,0 +1,8 @@
+package com.krterziev.jobprocessor.benchmarks;
+
+public enum GraphShape {
+  CHAIN,
+  FAN_OUT,
+  RANDOM,
+  LAYERED
+}
@@ -0,0 +1,93 @@
+package com.krterziev.jobprocessor.benchmarks;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.payload.request.TaskRequest;
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.transformers.BashScriptTransformer;
+import com.krterziev.jobprocessor.transformers.StreamingTaskTransformer;
+import com.krterziev.jobprocessor.transformers.TaskTransformer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures what interning saves on requests that repeat a few commands across many tasks. Run
+ * with the GC profiler and compare {@code gc.alloc.rate.norm} of each benchmark with its {@code
+ * Baseline} counterpart, which reads or writes the same request without interning.
+ */
+@State(Scope.Benchmark)
+public class InterningBenchmark {
+
+  @Param({"1000", "100000"})
+  int size;
+
+  @Param({"10", "100000"})
+  int distinctCommands;
+
+  private ObjectMapper mapper;
+  private byte[] requestBytes;
+  private TasksRequest tasksRequest;
+  private List<Task> tasks;
+
+  @Setup(Level.Trial)
+  public void generate() throws IOException {
+    mapper = new ObjectMapper();
+    final List<TaskRequest> taskRequests = new ArrayList<>(size);
+    for (final TaskRequest taskRequest : TaskGraphGenerator.generateRequest(GraphShape.RANDOM,
+        size, 42L).tasks()) {
+      final String command = "./build.sh --module " + taskRequests.size() % distinctCommands;
+      taskRequests.add(new TaskRequest(taskRequest.name(), command, taskRequest.requires()));
+    }
+    requestBytes = mapper.writeValueAsBytes(new TasksRequest(taskRequests));
+    tasksRequest = mapper.readValue(requestBytes, TasksRequest.class);
+    tasks = TaskTransformer.transform(tasksRequest);
+  }
+
+  @Benchmark
+  public IndexedTasksGraph streamRequest() throws IOException, InvalidTasksException {
+    try (final JsonParser parser = mapper.getFactory().createParser(requestBytes)) {
+      return StreamingTaskTransformer.transform(parser);
+    }
+  }
+
+  @Benchmark
+  public IndexedTasksGraph streamRequestBaseline() throws IOException, InvalidTasksException {
+    return TaskTransformer.transformToGraph(mapper.readValue(requestBytes, TasksRequest.class));
+  }
+
+  @Benchmark
+  public List<Task> transformRequest() {
+    return TaskTransformer.transform(tasksRequest);
+  }
+
+  @Benchmark
+  public void streamBashScript() throws IOException {
+    BashScriptTransformer.write(tasks, OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void streamBashScriptBaseline() throws IOException {
+    final Writer writer = new BufferedWriter(
+        new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8));
+    for (final Task task : tasks) {
+      writer.write(task.command());
+      writer.write('\n');
+    }
+    writer.flush();
+  }
+}
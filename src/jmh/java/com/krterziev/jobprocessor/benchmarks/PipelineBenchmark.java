@@ -0,0 +1,63 @@
+package com.krterziev.jobprocessor.benchmarks;
+
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.payload.response.TaskResponse;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.transformers.BashScriptTransformer;
+import com.krterziev.jobprocessor.transformers.TaskTransformer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+  @Param({"10", "1000", "100000", "1000000"})
+  int size;
+
+  @Param({"CHAIN", "FAN_OUT", "RANDOM", "LAYERED"})
+  GraphShape shape;
+
+  private TasksRequest tasksRequest;
+  private List<Task> tasks;
+
+  @Setup(Level.Trial)
+  public void generate() {
+    tasksRequest = TaskGraphGenerator.generateRequest(shape, size, 42L);
+    tasks = TaskTransformer.transform(tasksRequest);
+  }
+
+  @Benchmark
+  public List<Task> transformRequest() {
+    return TaskTransformer.transform(tasksRequest);
+  }
+
+  @Benchmark
+  public IndexedTasksGraph transformRequestToGraph() throws InvalidTasksException {
+    return TaskTransformer.transformToGraph(tasksRequest);
+  }
+
+  @Benchmark
+  public List<TaskResponse> transformResponse() {
+    return TaskTransformer.transform(tasks);
+  }
+
+  @Benchmark
+  public InputStream renderBashScript() {
+    return BashScriptTransformer.transform(tasks);
+  }
+
+  @Benchmark
+  public void streamBashScript() throws IOException {
+    BashScriptTransformer.write(tasks, OutputStream.nullOutputStream());
+  }
+}
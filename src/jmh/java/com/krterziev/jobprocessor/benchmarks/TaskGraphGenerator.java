@@ -0,0 +1,81 @@
+package com.krterziev.jobprocessor.benchmarks;
+
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.payload.request.TaskRequest;
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic synthetic task graphs. Tasks are shuffled so that no shape is already presented in
+ * topological order.
+ */
+public class TaskGraphGenerator {
+
+  private static final int RANDOM_MAX_PREREQUISITES = 4;
+  private static final int LAYER_WIDTH = 100;
+  private static final int LAYER_PREREQUISITES = 3;
+
+  private TaskGraphGenerator() {
+  }
+
+  public static TasksRequest generateRequest(final GraphShape shape, final int size,
+      final long seed) {
+    return new TasksRequest(generate(shape, size, seed).stream()
+        .map(task -> new TaskRequest(task.name(), task.command(), new ArrayList<>(task.requires())))
+        .toList());
+  }
+
+  public static List<Task> generate(final GraphShape shape, final int size, final long seed) {
+    final Random random = new Random(seed);
+    final List<Task> tasks = new ArrayList<>(size);
+    for (int index = 0; index < size; index++) {
+      tasks.add(new Task(name(index), "echo " + index, requires(shape, index, random)));
+    }
+    Collections.shuffle(tasks, random);
+    return tasks;
+  }
+
+  public static List<Task> copy(final List<Task> tasks) {
+    final List<Task> copy = new ArrayList<>(tasks.size());
+    for (final Task task : tasks) {
+      copy.add(new Task(task.name(), task.command(), new HashSet<>(task.requires())));
+    }
+    return copy;
+  }
+
+  private static Set<String> requires(final GraphShape shape, final int index,
+      final Random random) {
+    final Set<String> requires = new HashSet<>();
+    if (index == 0) {
+      return requires;
+    }
+    switch (shape) {
+      case CHAIN -> requires.add(name(index - 1));
+      case FAN_OUT -> requires.add(name(0));
+      case RANDOM -> {
+        final int prerequisites = random.nextInt(Math.min(index, RANDOM_MAX_PREREQUISITES) + 1);
+        for (int prerequisite = 0; prerequisite < prerequisites; prerequisite++) {
+          requires.add(name(random.nextInt(index)));
+        }
+      }
+      case LAYERED -> {
+        final int layer = index / LAYER_WIDTH;
+        if (layer > 0) {
+          for (int prerequisite = 0; prerequisite < LAYER_PREREQUISITES; prerequisite++) {
+            requires.add(name((layer - 1) * LAYER_WIDTH + random.nextInt(LAYER_WIDTH)));
+          }
+        }
+      }
+    }
+    return requires;
+  }
+
+  private static String name(final int index) {
+    return "task-" + index;
+  }
+}
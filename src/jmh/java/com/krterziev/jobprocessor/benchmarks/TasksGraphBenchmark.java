@@ -0,0 +1,91 @@
+package com.krterziev.jobprocessor.benchmarks;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.scheduling.GraphAnalysis;
+import com.krterziev.jobprocessor.scheduling.GraphAnalyzer;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.scheduling.ParallelTasksSorter;
+import com.krterziev.jobprocessor.scheduling.TasksGraph;
+import com.krterziev.jobprocessor.scheduling.TieBreaker;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class TasksGraphBenchmark {
+
+  @Param({"10", "1000", "100000", "1000000"})
+  int size;
+
+  @Param({"CHAIN", "FAN_OUT", "RANDOM", "LAYERED"})
+  GraphShape shape;
+
+  private List<Task> tasks;
+  private IndexedTasksGraph indexedGraph;
+  private ParallelTasksSorter parallelSorter;
+
+  @Setup(Level.Trial)
+  public void generate() {
+    tasks = TaskGraphGenerator.generate(shape, size, 42L);
+    indexedGraph = new IndexedTasksGraph(tasks);
+    // A threshold of one forces the parallel path even for the small sizes.
+    parallelSorter = new ParallelTasksSorter(ForkJoinPool.commonPool(), 1);
+  }
+
+  /**
+   * TasksGraph.sort empties the requires sets, so every invocation of the legacy sort needs a
+   * fresh copy. It lives in its own state so that no other benchmark pays for the copy.
+   */
+  @State(Scope.Thread)
+  public static class LegacyGraph {
+
+    private TasksGraph graph;
+
+    @Setup(Level.Invocation)
+    public void prepare(final TasksGraphBenchmark benchmark) {
+      graph = new TasksGraph(TaskGraphGenerator.copy(benchmark.tasks));
+    }
+  }
+
+  @Benchmark
+  public TasksGraph buildTasksGraph() {
+    return new TasksGraph(tasks);
+  }
+
+  @Benchmark
+  public List<Task> sortTasksGraph(final LegacyGraph legacyGraph)
+      throws CircularDependencyDetectedException {
+    return legacyGraph.graph.sort();
+  }
+
+  @Benchmark
+  public IndexedTasksGraph buildIndexedTasksGraph() {
+    return new IndexedTasksGraph(tasks);
+  }
+
+  @Benchmark
+  public int[] sortIndexedTasksGraph() throws CircularDependencyDetectedException {
+    return indexedGraph.sortIndices();
+  }
+
+  @Benchmark
+  public int[] sortIndexedTasksGraphByName() throws CircularDependencyDetectedException {
+    return indexedGraph.sortIndices(TieBreaker.NAME);
+  }
+
+  @Benchmark
+  public GraphAnalysis analyzeIndexedTasksGraph() throws CircularDependencyDetectedException {
+    return GraphAnalyzer.analyze(indexedGraph);
+  }
+
+  @Benchmark
+  public int[] sortIndexedTasksGraphInParallel() throws CircularDependencyDetectedException {
+    return parallelSorter.sortIndices(indexedGraph);
+  }
+}
@@ -0,0 +1,71 @@
+package com.krterziev.jobprocessor.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.payload.response.TaskResponse;
+import com.krterziev.jobprocessor.transformers.TaskTransformer;
+import java.io.IOException;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the cost of reading requests and writing responses of {@code /tasks/sort} in the
+ * supported wire formats, including the indices-only response.
+ */
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+  public enum WireFormat {
+    JSON, CBOR, SMILE
+  }
+
+  @Param({"1000", "100000"})
+  int size;
+
+  @Param({"JSON", "CBOR", "SMILE"})
+  WireFormat format;
+
+  private ObjectMapper mapper;
+  private byte[] requestBytes;
+  private List<TaskResponse> response;
+  private int[] indices;
+
+  @Setup(Level.Trial)
+  public void generate() throws IOException {
+    mapper = switch (format) {
+      case JSON -> new ObjectMapper();
+      case CBOR -> new CBORMapper();
+      case SMILE -> new SmileMapper();
+    };
+    final TasksRequest tasksRequest = TaskGraphGenerator.generateRequest(GraphShape.RANDOM, size,
+        42L);
+    requestBytes = mapper.writeValueAsBytes(tasksRequest);
+    response = TaskTransformer.transform(TaskTransformer.transform(tasksRequest));
+    indices = new int[size];
+    for (int index = 0; index < size; index++) {
+      indices[index] = index;
+    }
+  }
+
+  @Benchmark
+  public TasksRequest readRequest() throws IOException {
+    return mapper.readValue(requestBytes, TasksRequest.class);
+  }
+
+  @Benchmark
+  public byte[] writeTasksResponse() throws IOException {
+    return mapper.writeValueAsBytes(response);
+  }
+
+  @Benchmark
+  public byte[] writeIndicesResponse() throws IOException {
+    return mapper.writeValueAsBytes(indices);
+  }
+}
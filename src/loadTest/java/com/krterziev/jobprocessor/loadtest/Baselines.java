@@ -0,0 +1,99 @@
+package com.krterziev.jobprocessor.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Stored latency percentiles (milliseconds) and throughput (requests per second) per scenario. A
+ * run regresses when a percentile exceeds its baseline, or throughput falls below it, by more than
+ * the tolerance. A scenario without a baseline fails as well, so that no run passes unchecked.
+ */
+class Baselines {
+
+  private static final String HEADER = """
+      # Load test baselines, keyed by <endpoint>.<shape>.<size>.c<concurrency>.r<rate>.<metric>.
+      # Latencies are in milliseconds, throughput in requests per second. Numbers depend on the
+      # machine that recorded them; refresh with ./gradlew loadTest -PloadTest.updateBaselines=true
+      """;
+  private static final String[] LATENCY_METRICS = {"p50", "p99", "p999"};
+  private static final double[] PERCENTILES = {50, 99, 99.9};
+  private static final String THROUGHPUT_METRIC = "throughput";
+
+  private final Map<String, Double> values;
+
+  private Baselines(final Map<String, Double> values) {
+    this.values = values;
+  }
+
+  static Baselines load(final Path file) throws IOException {
+    final Map<String, Double> values = new TreeMap<>();
+    if (Files.exists(file)) {
+      final Properties properties = new Properties();
+      try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        properties.load(reader);
+      }
+      for (final String key : properties.stringPropertyNames()) {
+        values.put(key, Double.parseDouble(properties.getProperty(key)));
+      }
+    }
+    return new Baselines(values);
+  }
+
+  List<String> regressions(final String scenario, final LoadResult result,
+      final double tolerance) {
+    final List<String> regressions = new ArrayList<>();
+    if (result.errors() > 0) {
+      regressions.add(String.format("%s: %d requests failed", scenario, result.errors()));
+    }
+    if (!values.containsKey(key(scenario, THROUGHPUT_METRIC))) {
+      regressions.add(String.format(
+          "%s: no baseline, record one with -PloadTest.updateBaselines=true", scenario));
+      return regressions;
+    }
+    for (int metric = 0; metric < LATENCY_METRICS.length; metric++) {
+      final Double baseline = values.get(key(scenario, LATENCY_METRICS[metric]));
+      final double actual = result.percentileMillis(PERCENTILES[metric]);
+      if (baseline != null && actual > baseline * (1 + tolerance)) {
+        regressions.add(String.format("%s: %s %.2f ms exceeds baseline %.2f ms",
+            scenario, LATENCY_METRICS[metric], actual, baseline));
+      }
+    }
+    final Double baseline = values.get(key(scenario, THROUGHPUT_METRIC));
+    if (baseline != null && result.throughput() < baseline * (1 - tolerance)) {
+      regressions.add(String.format("%s: throughput %.1f req/s is below baseline %.1f req/s",
+          scenario, result.throughput(), baseline));
+    }
+    return regressions;
+  }
+
+  void update(final String scenario, final LoadResult result) {
+    for (int metric = 0; metric < LATENCY_METRICS.length; metric++) {
+      values.put(key(scenario, LATENCY_METRICS[metric]),
+          result.percentileMillis(PERCENTILES[metric]));
+    }
+    values.put(key(scenario, THROUGHPUT_METRIC), result.throughput());
+  }
+
+  void store(final Path file) throws IOException {
+    try (final Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write(HEADER);
+      for (final Map.Entry<String, Double> entry : values.entrySet()) {
+        writer.write(String.format(Locale.ROOT, "%s=%.2f%n", entry.getKey(), entry.getValue()));
+      }
+    }
+  }
+
+  private static String key(final String scenario, final String metric) {
+    return scenario + "." + metric;
+  }
+}
@@ -0,0 +1,144 @@
+package com.krterziev.jobprocessor.loadtest;
+
+import com.krterziev.jobprocessor.JobProcessorApplication;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Compares how many slow clients each {@code serving.mode} tolerates. For every mode and every
+ * connection count, that many clients open {@code /tasks/sort} requests and trickle their bodies
+ * one byte at a time, and a probe client then sends a small request. A mode that serves requests
+ * on a fixed pool of platform threads runs out of threads once the slow clients hold all of them,
+ * and the probe times out; a mode that parks slow requests keeps answering.
+ *
+ * <p>Settings are {@code loadTest.modes}, {@code loadTest.connections} and {@code
+ * loadTest.probeTimeout} (seconds).
+ */
+public class ConnectionCapacity {
+
+  private static final byte[] PROBE_BODY = """
+      {"tasks": [{"name": "task-1", "command": "echo 1"}]}"""
+      .getBytes(StandardCharsets.UTF_8);
+  private static final int SLOW_BODY_BYTES = 1 << 20;
+  private static final long TRICKLE_INTERVAL_MS = 200;
+  private static final long SETTLE_MS = 2000;
+  private static final int PROBES = 5;
+
+  private ConnectionCapacity() {
+  }
+
+  public static void main(final String[] args) throws Exception {
+    final List<String> modes = Arrays.asList(property("modes", "platform,virtual").split(","));
+    final int[] connectionCounts = Arrays.stream(
+        property("connections", "50,100,200,400,800").split(","))
+        .mapToInt(Integer::parseInt).toArray();
+    final Duration probeTimeout = Duration.ofSeconds(Long.parseLong(
+        property("probeTimeout", "5")));
+
+    System.out.printf("%-10s %12s %16s %10s%n", "mode", "connections", "probe p50 (ms)",
+        "timeouts");
+    for (final String mode : modes) {
+      try (final ConfigurableApplicationContext context = SpringApplication.run(
+          JobProcessorApplication.class, "--server.port=0", "--serving.mode=" + mode,
+          "--jobs.store.enabled=false", "--logging.level.root=WARN")) {
+        final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        for (final int connections : connectionCounts) {
+          final long[] latencies = probeUnderSlowClients(port, connections, probeTimeout);
+          final long timeouts = Arrays.stream(latencies).filter(latency -> latency < 0).count();
+          final long[] answered = Arrays.stream(latencies).filter(latency -> latency >= 0)
+              .sorted().toArray();
+          System.out.printf("%-10s %12d %16s %10d%n", mode, connections,
+              answered.length > 0 ? String.valueOf(answered[answered.length / 2]) : "-",
+              timeouts);
+        }
+      }
+    }
+  }
+
+  /**
+   * Latency of each probe in milliseconds while {@code connections} slow uploads are in
+   * progress, or -1 for a probe that timed out.
+   */
+  private static long[] probeUnderSlowClients(final int port, final int connections,
+      final Duration probeTimeout) throws IOException, InterruptedException {
+    final List<Socket> sockets = new ArrayList<>(connections);
+    final ScheduledExecutorService trickler = Executors.newSingleThreadScheduledExecutor();
+    try {
+      for (int connection = 0; connection < connections; connection++) {
+        final Socket socket = new Socket("localhost", port);
+        socket.getOutputStream().write(slowRequestHead(port));
+        socket.getOutputStream().write('{');
+        sockets.add(socket);
+      }
+      trickler.scheduleAtFixedRate(() -> trickle(sockets), TRICKLE_INTERVAL_MS,
+          TRICKLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+      Thread.sleep(SETTLE_MS);
+
+      final HttpClient httpClient = HttpClient.newHttpClient();
+      final long[] latencies = new long[PROBES];
+      for (int probe = 0; probe < PROBES; probe++) {
+        final HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/tasks/sort"))
+            .header("Content-Type", "application/json")
+            .timeout(probeTimeout)
+            .POST(BodyPublishers.ofByteArray(PROBE_BODY))
+            .build();
+        final long start = System.nanoTime();
+        try {
+          httpClient.send(request, BodyHandlers.discarding());
+          latencies[probe] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } catch (final HttpTimeoutException e) {
+          latencies[probe] = -1;
+        }
+      }
+      return latencies;
+    } finally {
+      trickler.shutdownNow();
+      for (final Socket socket : sockets) {
+        socket.close();
+      }
+    }
+  }
+
+  private static byte[] slowRequestHead(final int port) {
+    return ("POST /tasks/sort HTTP/1.1\r\n"
+        + "Host: localhost:" + port + "\r\n"
+        + "Content-Type: application/json\r\n"
+        + "Content-Length: " + SLOW_BODY_BYTES + "\r\n"
+        + "\r\n").getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static void trickle(final List<Socket> sockets) {
+    for (final Socket socket : sockets) {
+      try {
+        final OutputStream outputStream = socket.getOutputStream();
+        outputStream.write(' ');
+        outputStream.flush();
+      } catch (final IOException e) {
+        // The server gave up on this connection; the others keep trickling.
+      }
+    }
+  }
+
+  private static String property(final String name, final String defaultValue) {
+    return System.getProperty("loadTest." + name, defaultValue);
+  }
+}
@@ -0,0 +1,129 @@
+package com.krterziev.jobprocessor.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-loop HTTP client: request {@code i} is due {@code i / rate} seconds after the start, and
+ * up to {@code concurrency} workers send the requests in order. Latency is measured from the time
+ * a request was due rather than the time it was sent, so a slow response that holds back the
+ * requests behind it is charged to them as well instead of hiding their wait (coordinated
+ * omission). Every worker records into its own histogram, and the histograms are merged at the
+ * end, so recording adds no contention to the measurement.
+ */
+class LoadClient {
+
+  private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private final URI baseUri;
+  private final int concurrency;
+  private final long intervalNanos;
+  private final HttpClient httpClient;
+
+  LoadClient(final URI baseUri, final int concurrency, final int rate) {
+    this.baseUri = baseUri;
+    this.concurrency = concurrency;
+    this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+    this.httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+  }
+
+  /**
+   * Sends {@code warmupRequests} unrecorded requests and then {@code requests} recorded ones,
+   * cycling through {@code bodies}.
+   */
+  LoadResult run(final String endpoint, final List<byte[]> bodies, final int warmupRequests,
+      final int requests) throws InterruptedException {
+    final URI uri = baseUri.resolve(endpoint);
+    drive(uri, bodies, warmupRequests);
+    final long start = System.nanoTime();
+    final Phase phase = drive(uri, bodies, requests);
+    final double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+    return new LoadResult(endpoint, phase.latencies(), requests / elapsedSeconds,
+        phase.errors());
+  }
+
+  /**
+   * Java 17 has no virtual threads, so the workers are a fixed pool of platform threads. When all
+   * of them are busy, due requests wait for a free worker, and that wait counts as latency.
+   */
+  private Phase drive(final URI uri, final List<byte[]> bodies, final int requests)
+      throws InterruptedException {
+    final AtomicInteger sent = new AtomicInteger();
+    final AtomicLong errors = new AtomicLong();
+    final ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+    final long start = System.nanoTime();
+    try {
+      final List<Future<Histogram>> histograms = new ArrayList<>(concurrency);
+      for (int worker = 0; worker < concurrency; worker++) {
+        histograms.add(workers.submit(() -> {
+          final Histogram latencies = new Histogram(MAX_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+          int request;
+          while ((request = sent.getAndIncrement()) < requests) {
+            final long due = start + request * intervalNanos;
+            waitUntil(due);
+            if (!send(uri, bodies.get(request % bodies.size()))) {
+              errors.incrementAndGet();
+            }
+            latencies.recordValue(
+                Math.min(MAX_LATENCY_MICROS, (System.nanoTime() - due) / 1000));
+          }
+          return latencies;
+        }));
+      }
+      final Histogram latencies = new Histogram(MAX_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+      for (final Future<Histogram> histogram : histograms) {
+        latencies.add(histogram.get());
+      }
+      return new Phase(latencies, errors.get());
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException("Load test worker failed", e.getCause());
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+
+  private static void waitUntil(final long due) {
+    long delay;
+    while ((delay = due - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(delay);
+    }
+  }
+
+  private boolean send(final URI uri, final byte[] body) throws InterruptedException {
+    final HttpRequest request = HttpRequest.newBuilder(uri)
+        .header("Content-Type", "application/json")
+        .POST(BodyPublishers.ofByteArray(body))
+        .build();
+    try {
+      final HttpResponse<Void> response = httpClient.send(request, BodyHandlers.discarding());
+      return response.statusCode() / 100 == 2;
+    } catch (final IOException e) {
+      return false;
+    }
+  }
+
+  private record Phase(Histogram latencies, long errors) {
+
+  }
+}
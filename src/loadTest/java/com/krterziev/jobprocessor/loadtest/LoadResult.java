@@ -0,0 +1,21 @@
+package com.krterziev.jobprocessor.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of driving one endpoint. Latencies are recorded in microseconds.
+ */
+record LoadResult(String endpoint, Histogram latencies, double throughput, long errors) {
+
+  double percentileMillis(final double percentile) {
+    return latencies.getValueAtPercentile(percentile) / 1000.0;
+  }
+
+  String summary() {
+    return String.format(
+        "%-20s %7d requests %9.1f req/s  p50 %8.2f ms  p99 %8.2f ms  p999 %8.2f ms  "
+            + "max %8.2f ms  errors %d",
+        endpoint, latencies.getTotalCount(), throughput, percentileMillis(50),
+        percentileMillis(99), percentileMillis(99.9), latencies.getMaxValue() / 1000.0, errors);
+  }
+}
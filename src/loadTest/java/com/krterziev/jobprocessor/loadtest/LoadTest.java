@@ -0,0 +1,76 @@
+package com.krterziev.jobprocessor.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krterziev.jobprocessor.JobProcessorApplication;
+import com.krterziev.jobprocessor.benchmarks.TaskGraphGenerator;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the application on a random port, drives the sort endpoints with synthetic graphs and
+ * compares the latency percentiles and throughput with the stored baselines. Exits with status 1
+ * when any endpoint regresses or has no baseline, which fails the {@code loadTest} Gradle task.
+ *
+ * <p>The sort result cache is disabled and every worker cycles through {@code graphs} distinct
+ * graphs, so each request pays for the full pipeline.
+ */
+public class LoadTest {
+
+  private static final String[] APPLICATION_ARGS = {
+      "--server.port=0",
+      "--tasks.cache.max-weight=0",
+      "--jobs.store.enabled=false",
+      "--logging.level.root=WARN"
+  };
+
+  private LoadTest() {
+  }
+
+  public static void main(final String[] args) throws Exception {
+    final LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+    final List<byte[]> bodies = requestBodies(config);
+    final Baselines baselines = Baselines.load(config.baselines());
+    final List<String> regressions = new ArrayList<>();
+
+    try (final ConfigurableApplicationContext context =
+        SpringApplication.run(JobProcessorApplication.class, APPLICATION_ARGS)) {
+      final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      final LoadClient client = new LoadClient(URI.create("http://localhost:" + port),
+          config.concurrency(), config.rate());
+      for (final String endpoint : config.endpoints()) {
+        final String scenario = config.scenario(endpoint);
+        final LoadResult result = client.run(endpoint, bodies, config.warmupRequests(),
+            config.requests());
+        System.out.println(result.summary());
+        if (config.updateBaselines()) {
+          baselines.update(scenario, result);
+        } else {
+          regressions.addAll(baselines.regressions(scenario, result, config.tolerance()));
+        }
+      }
+    }
+
+    if (config.updateBaselines()) {
+      baselines.store(config.baselines());
+      System.out.println("Baselines written to " + config.baselines());
+    }
+    if (!regressions.isEmpty()) {
+      regressions.forEach(System.err::println);
+      System.exit(1);
+    }
+  }
+
+  private static List<byte[]> requestBodies(final LoadTestConfig config) throws Exception {
+    final ObjectMapper objectMapper = new ObjectMapper();
+    final List<byte[]> bodies = new ArrayList<>(config.graphs());
+    for (int graph = 0; graph < config.graphs(); graph++) {
+      bodies.add(objectMapper.writeValueAsBytes(
+          TaskGraphGenerator.generateRequest(config.shape(), config.size(), graph)));
+    }
+    return bodies;
+  }
+}
@@ -0,0 +1,44 @@
+package com.krterziev.jobprocessor.loadtest;
+
+import com.krterziev.jobprocessor.benchmarks.GraphShape;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Settings of a load test run, read from {@code loadTest.*} system properties. The Gradle task
+ * forwards every {@code -PloadTest.*} project property.
+ */
+record LoadTestConfig(GraphShape shape, int size, int graphs, int concurrency, int rate,
+                      int warmupRequests, int requests, List<String> endpoints,
+                      Path baselines, double tolerance, boolean updateBaselines) {
+
+  static LoadTestConfig fromSystemProperties() {
+    return new LoadTestConfig(
+        GraphShape.valueOf(property("shape", "RANDOM").toUpperCase()),
+        Integer.parseInt(property("size", "1000")),
+        Integer.parseInt(property("graphs", "64")),
+        Integer.parseInt(property("concurrency", "16")),
+        Integer.parseInt(property("rate", "200")),
+        Integer.parseInt(property("warmup", "1000")),
+        Integer.parseInt(property("requests", "5000")),
+        Arrays.asList(property("endpoints", "/tasks/sort,/tasks/sort-commands").split(",")),
+        Path.of(property("baselines", "src/loadTest/baselines.properties")),
+        Double.parseDouble(property("tolerance", "0.25")),
+        Boolean.parseBoolean(property("updateBaselines", "false")));
+  }
+
+  /**
+   * Baselines only compare like with like, so every setting that shapes the load is part of the
+   * scenario key.
+   */
+  String scenario(final String endpoint) {
+    return String.format("%s.%s.%d.c%d.r%d",
+        endpoint.substring(endpoint.lastIndexOf('/') + 1), shape.name().toLowerCase(), size,
+        concurrency, rate);
+  }
+
+  private static String property(final String name, final String defaultValue) {
+    return System.getProperty("loadTest." + name, defaultValue);
+  }
+}
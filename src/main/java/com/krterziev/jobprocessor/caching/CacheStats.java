@@ -0,0 +1,6 @@
+package com.krterziev.jobprocessor.caching;
+
+public record CacheStats(long hits, long misses, long evictions, int entries, long weight,
+                         long maxWeight) {
+
+}
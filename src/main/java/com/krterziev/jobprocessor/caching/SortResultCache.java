@@ -0,0 +1,59 @@
+package com.krterziev.jobprocessor.caching;
+
+import com.krterziev.jobprocessor.models.Task;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * LRU cache of sorted task orders keyed by {@link TasksFingerprint}. The cache is bounded by the
+ * total number of cached tasks rather than by entry count, so one huge job cannot pin the heap.
+ */
+@Component
+public class SortResultCache {
+
+  private final Map<String, List<Task>> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final long maxWeight;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private long weight;
+
+  public SortResultCache(@Value("${tasks.cache.max-weight:1000000}") final long maxWeight) {
+    this.maxWeight = maxWeight;
+  }
+
+  public synchronized List<Task> get(final String fingerprint) {
+    final List<Task> sortedTasks = entries.get(fingerprint);
+    (sortedTasks != null ? hits : misses).incrementAndGet();
+    return sortedTasks;
+  }
+
+  public synchronized void put(final String fingerprint, final List<Task> sortedTasks) {
+    final int entryWeight = Math.max(1, sortedTasks.size());
+    if (entryWeight > maxWeight) {
+      return;
+    }
+    final List<Task> previous = entries.put(fingerprint, sortedTasks);
+    if (previous != null) {
+      weight -= Math.max(1, previous.size());
+    }
+    weight += entryWeight;
+
+    final Iterator<List<Task>> eldest = entries.values().iterator();
+    while (weight > maxWeight && eldest.hasNext()) {
+      weight -= Math.max(1, eldest.next().size());
+      eldest.remove();
+      evictions.incrementAndGet();
+    }
+  }
+
+  public synchronized CacheStats stats() {
+    return new CacheStats(hits.get(), misses.get(), evictions.get(), entries.size(), weight,
+        maxWeight);
+  }
+}
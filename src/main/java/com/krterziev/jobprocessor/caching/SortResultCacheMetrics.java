@@ -0,0 +1,40 @@
+package com.krterziev.jobprocessor.caching;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the counters of {@link SortResultCache} alongside the other application metrics.
+ */
+@Component
+public class SortResultCacheMetrics implements MeterBinder {
+
+  private final SortResultCache sortResultCache;
+
+  public SortResultCacheMetrics(final SortResultCache sortResultCache) {
+    this.sortResultCache = sortResultCache;
+  }
+
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    FunctionCounter.builder("tasks.cache.requests", sortResultCache,
+            cache -> cache.stats().hits())
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder("tasks.cache.requests", sortResultCache,
+            cache -> cache.stats().misses())
+        .tag("result", "miss")
+        .register(registry);
+    FunctionCounter.builder("tasks.cache.evictions", sortResultCache,
+            cache -> cache.stats().evictions())
+        .register(registry);
+    Gauge.builder("tasks.cache.entries", sortResultCache, cache -> cache.stats().entries())
+        .register(registry);
+    Gauge.builder("tasks.cache.weight", sortResultCache, cache -> cache.stats().weight())
+        .description("Number of tasks held by the cache")
+        .register(registry);
+  }
+}
@@ -0,0 +1,117 @@
+package com.krterziev.jobprocessor.caching;
+
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.scheduling.TieBreaker;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Canonical hash of a task graph. Every task (name, command, sorted prerequisites and priority) is
+ * hashed on its own and the sorted task digests are hashed in sequence, so reordering the tasks or
+ * their prerequisites does not change the fingerprint. Unlike adding the digests up, this keeps
+ * the fingerprint as collision resistant as SHA-256 itself, which matters because the fingerprints
+ * of client-supplied graphs key a shared cache. When the tie-breaker falls back to input order the
+ * digests are hashed in input order instead.
+ */
+public class TasksFingerprint {
+
+  private static final String ALGORITHM = "SHA-256";
+
+  private TasksFingerprint() {
+  }
+
+  public static String of(final IndexedTasksGraph graph) {
+    return of(graph, null);
+  }
+
+  /**
+   * Fingerprint of the result of sorting {@code graph} with {@code tieBreaker}, which differs
+   * between tie-breakers. The prerequisites are read back from the edges, since the tasks of a
+   * built graph carry none.
+   */
+  public static String of(final IndexedTasksGraph graph, final TieBreaker tieBreaker) {
+    final String[][] requires = prerequisiteNames(graph);
+    final boolean positional = tieBreaker != null && tieBreaker.dependsOnInputOrder();
+    final MessageDigest digest = newDigest();
+    final byte[][] taskDigests = new byte[graph.size()][];
+    for (int id = 0; id < graph.size(); id++) {
+      final Task task = graph.task(id);
+      update(digest, task.name());
+      update(digest, task.command());
+      Arrays.sort(requires[id]);
+      digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(requires[id].length).array());
+      for (final String prerequisiteTaskName : requires[id]) {
+        update(digest, prerequisiteTaskName);
+      }
+      if (task.priority() != null) {
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(task.priority()).array());
+      }
+      taskDigests[id] = digest.digest();
+    }
+    return combine(taskDigests, positional, tieBreaker);
+  }
+
+  /**
+   * Hashes the fixed-length task digests one after another, sorted unless {@code positional}.
+   */
+  static String combine(final byte[][] taskDigests, final boolean positional,
+      final TieBreaker tieBreaker) {
+    if (!positional) {
+      Arrays.sort(taskDigests, Arrays::compareUnsigned);
+    }
+    final MessageDigest digest = newDigest();
+    for (final byte[] taskDigest : taskDigests) {
+      digest.update(taskDigest);
+    }
+    digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(taskDigests.length).array());
+    if (tieBreaker != null) {
+      digest.update(tieBreaker.name().getBytes(StandardCharsets.UTF_8));
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static String[][] prerequisiteNames(final IndexedTasksGraph graph) {
+    final int size = graph.size();
+    final int[] counts = new int[size];
+    for (int id = 0; id < size; id++) {
+      for (int edge = graph.dependentEdgesStart(id); edge < graph.dependentEdgesEnd(id); edge++) {
+        counts[graph.dependent(edge)]++;
+      }
+    }
+    final String[][] names = new String[size][];
+    for (int id = 0; id < size; id++) {
+      names[id] = new String[counts[id]];
+      counts[id] = 0;
+    }
+    for (int id = 0; id < size; id++) {
+      for (int edge = graph.dependentEdgesStart(id); edge < graph.dependentEdgesEnd(id); edge++) {
+        final int dependent = graph.dependent(edge);
+        names[dependent][counts[dependent]++] = graph.task(id).name();
+      }
+    }
+    return names;
+  }
+
+  private static void update(final MessageDigest digest, final String value) {
+    if (value == null) {
+      digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(-1).array());
+      return;
+    }
+    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+    digest.update(bytes);
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance(ALGORITHM);
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(ALGORITHM + " is not available", e);
+    }
+  }
+}
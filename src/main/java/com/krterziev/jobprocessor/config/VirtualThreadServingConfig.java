@@ -0,0 +1,61 @@
+package com.krterziev.jobprocessor.config;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * {@code serving.mode=virtual}: Tomcat handles every request, and MVC writes every streamed
+ * response, on a virtual thread of its own. A client that uploads a large body or reads a script
+ * slowly then parks a virtual thread instead of holding one of the fixed pool's platform
+ * threads, so slow clients no longer cap the number of connections being served. Controllers,
+ * validation and error handling stay the same in both modes.
+ */
+@Configuration
+@ConditionalOnProperty(name = "serving.mode", havingValue = "virtual")
+public class VirtualThreadServingConfig implements WebMvcConfigurer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadServingConfig.class);
+
+  private final ExecutorService executor;
+
+  public VirtualThreadServingConfig() {
+    this.executor = VirtualThreads.newPerTaskExecutor().orElse(null);
+    if (executor == null) {
+      LOG.warn("Virtual threads are not available on Java {}, serving on platform threads",
+          Runtime.version().feature());
+    }
+  }
+
+  @Bean
+  public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandler() {
+    return protocolHandler -> {
+      if (executor != null) {
+        protocolHandler.setExecutor(executor);
+      }
+    };
+  }
+
+  @Override
+  public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+    if (executor != null) {
+      configurer.setTaskExecutor(new TaskExecutorAdapter(executor));
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.krterziev.jobprocessor.config;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The project compiles against Java 17, which has no virtual threads, but may run on a JDK that
+ * has them. {@code Executors.newVirtualThreadPerTaskExecutor()} is therefore looked up at runtime.
+ */
+final class VirtualThreads {
+
+  private VirtualThreads() {
+  }
+
+  /**
+   * An executor starting a virtual thread per task, or empty when the running JDK has no virtual
+   * threads or has them as a disabled preview feature.
+   */
+  static Optional<ExecutorService> newPerTaskExecutor() {
+    final MethodHandle factory;
+    try {
+      factory = MethodHandles.publicLookup().findStatic(Executors.class,
+          "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+    } catch (final ReflectiveOperationException e) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of((ExecutorService) factory.invoke());
+    } catch (final UnsupportedOperationException e) {
+      return Optional.empty();
+    } catch (final Throwable e) {
+      throw new IllegalStateException("Could not create a virtual thread executor", e);
+    }
+  }
+}
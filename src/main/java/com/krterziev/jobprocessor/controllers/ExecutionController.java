@@ -0,0 +1,50 @@
+package com.krterziev.jobprocessor.controllers;
+
+import static com.krterziev.jobprocessor.transformers.TaskTransformer.transformToGraph;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.execution.ExecutionResult;
+import com.krterziev.jobprocessor.execution.FailurePolicy;
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.payload.response.ExecutionResponse;
+import com.krterziev.jobprocessor.services.ExecutionService;
+import com.krterziev.jobprocessor.transformers.ExecutionTransformer;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Runs task commands on the host, so it is only registered with {@code tasks.execution.enabled}.
+ */
+@RestController
+@RequestMapping("/tasks")
+@Validated
+@ConditionalOnProperty(name = "tasks.execution.enabled", havingValue = "true")
+public class ExecutionController {
+
+  private final ExecutionService executionService;
+
+  @Autowired
+  public ExecutionController(final ExecutionService executionService) {
+    this.executionService = executionService;
+  }
+
+  @PostMapping("/execute")
+  public ResponseEntity<ExecutionResponse> executeTasks(
+      @RequestBody final TasksRequest tasksRequest,
+      @RequestParam(required = false) @Min(1) final Integer concurrency,
+      @RequestParam(defaultValue = "FAIL_FAST") final FailurePolicy failurePolicy)
+      throws InvalidTasksException, CircularDependencyDetectedException, InterruptedException {
+    final ExecutionResult executionResult = executionService.executeTasks(
+        transformToGraph(tasksRequest), concurrency, failurePolicy);
+    return ResponseEntity.ok(ExecutionTransformer.transform(executionResult));
+  }
+}
@@ -1,14 +1,24 @@
 package com.krterziev.jobprocessor.controllers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.GraphNotFoundException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.exceptions.JobNotFoundException;
+import com.krterziev.jobprocessor.exceptions.TooManyGraphsException;
+import com.krterziev.jobprocessor.metrics.SortMetrics;
+import com.krterziev.jobprocessor.payload.response.CircularDependencyResponse;
+import com.krterziev.jobprocessor.transformers.CircularDependencyTransformer;
 import jakarta.validation.ConstraintViolationException;
 import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.context.request.ServletWebRequest;
 
 @ControllerAdvice
@@ -16,16 +26,68 @@ public class GlobalControllerExceptionHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(GlobalControllerExceptionHandler.class);
 
-  @ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Circular Dependency Found")
+  private final SortMetrics metrics;
+
+  public GlobalControllerExceptionHandler(final ObjectProvider<SortMetrics> metrics) {
+    this.metrics = SortMetrics.of(metrics);
+  }
+
   @ExceptionHandler(CircularDependencyDetectedException.class)
-  public void CircularDependencyDetectedException(final CircularDependencyDetectedException ex) {
+  public ResponseEntity<CircularDependencyResponse> CircularDependencyDetectedException(
+      final CircularDependencyDetectedException ex) {
     LOG.warn(ex.getMessage());
+    metrics.cycleDetected();
+    return ResponseEntity.badRequest().body(CircularDependencyTransformer.transform(ex));
   }
 
   @ExceptionHandler(ConstraintViolationException.class)
   public void handleConstraintViolationException(ConstraintViolationException exception,
       ServletWebRequest webRequest) throws IOException {
+    metrics.validationFailed("constraint");
     webRequest.getResponse().sendError(HttpStatus.BAD_REQUEST.value(), exception.getMessage());
   }
 
+  @ExceptionHandler(InvalidTasksException.class)
+  public void handleInvalidTasksException(InvalidTasksException exception,
+      ServletWebRequest webRequest) throws IOException {
+    metrics.validationFailed("invalid_tasks");
+    webRequest.getResponse().sendError(HttpStatus.BAD_REQUEST.value(), exception.getMessage());
+  }
+
+  @ExceptionHandler(JsonProcessingException.class)
+  public void handleJsonProcessingException(JsonProcessingException exception,
+      ServletWebRequest webRequest) throws IOException {
+    metrics.validationFailed("malformed");
+    webRequest.getResponse().sendError(HttpStatus.BAD_REQUEST.value(),
+        exception.getOriginalMessage());
+  }
+
+  @ExceptionHandler(JobNotFoundException.class)
+  public void handleJobNotFoundException(JobNotFoundException exception,
+      ServletWebRequest webRequest) throws IOException {
+    webRequest.getResponse().sendError(HttpStatus.NOT_FOUND.value(), exception.getMessage());
+  }
+
+  @ExceptionHandler(GraphNotFoundException.class)
+  public void handleGraphNotFoundException(GraphNotFoundException exception,
+      ServletWebRequest webRequest) throws IOException {
+    webRequest.getResponse().sendError(HttpStatus.NOT_FOUND.value(), exception.getMessage());
+  }
+
+  @ExceptionHandler(TooManyGraphsException.class)
+  public void handleTooManyGraphsException(TooManyGraphsException exception,
+      ServletWebRequest webRequest) throws IOException {
+    LOG.warn(exception.getMessage());
+    webRequest.getResponse().sendError(HttpStatus.SERVICE_UNAVAILABLE.value(),
+        exception.getMessage());
+  }
+
+  @ExceptionHandler(RejectedExecutionException.class)
+  public void handleRejectedExecutionException(RejectedExecutionException exception,
+      ServletWebRequest webRequest) throws IOException {
+    LOG.warn(exception.getMessage());
+    webRequest.getResponse().sendError(HttpStatus.SERVICE_UNAVAILABLE.value(),
+        "The job queue is full");
+  }
+
 }
@@ -0,0 +1,73 @@
+package com.krterziev.jobprocessor.controllers;
+
+import static com.krterziev.jobprocessor.transformers.TaskTransformer.transform;
+import static com.krterziev.jobprocessor.transformers.TaskTransformer.transformToGraph;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.GraphNotFoundException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.exceptions.TooManyGraphsException;
+import com.krterziev.jobprocessor.graphs.GraphSession;
+import com.krterziev.jobprocessor.payload.request.GraphPatchRequest;
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.payload.response.GraphResponse;
+import com.krterziev.jobprocessor.payload.response.TaskResponse;
+import com.krterziev.jobprocessor.services.GraphService;
+import com.krterziev.jobprocessor.transformers.GraphTransformer;
+import java.net.URI;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/graphs")
+public class GraphController {
+
+  private final GraphService graphService;
+
+  @Autowired
+  public GraphController(final GraphService graphService) {
+    this.graphService = graphService;
+  }
+
+  @PostMapping
+  public ResponseEntity<GraphResponse> createGraph(
+      @RequestBody final TasksRequest tasksRequest)
+      throws CircularDependencyDetectedException, InvalidTasksException, TooManyGraphsException {
+    final GraphSession session = graphService.createGraph(transformToGraph(tasksRequest));
+    return ResponseEntity.created(URI.create("/graphs/" + session.id()))
+        .body(GraphTransformer.transform(session));
+  }
+
+  @PatchMapping("/{id}/tasks")
+  public ResponseEntity<GraphResponse> updateGraph(@PathVariable final String id,
+      @RequestBody final GraphPatchRequest patchRequest)
+      throws GraphNotFoundException, CircularDependencyDetectedException, InvalidTasksException {
+    final GraphSession session = graphService.updateGraph(id,
+        GraphTransformer.upserts(patchRequest), GraphTransformer.removals(patchRequest));
+    return ResponseEntity.ok(GraphTransformer.transform(session));
+  }
+
+  @GetMapping("/{id}/order")
+  public ResponseEntity<List<TaskResponse>> getOrder(@PathVariable final String id)
+      throws GraphNotFoundException {
+    return ResponseEntity.ok(transform(graphService.sortGraph(id)));
+  }
+
+  @DeleteMapping("/{id}")
+  public ResponseEntity<Void> deleteGraph(@PathVariable final String id)
+      throws GraphNotFoundException {
+    graphService.deleteGraph(id);
+    return ResponseEntity.noContent().build();
+  }
+}
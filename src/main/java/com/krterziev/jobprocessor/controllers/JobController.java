@@ -0,0 +1,104 @@
+package com.krterziev.jobprocessor.controllers;
+
+import static com.krterziev.jobprocessor.transformers.TaskTransformer.transformToGraph;
+
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.exceptions.JobNotFoundException;
+import com.krterziev.jobprocessor.execution.FailurePolicy;
+import com.krterziev.jobprocessor.jobs.Job;
+import com.krterziev.jobprocessor.jobs.JobListener;
+import com.krterziev.jobprocessor.jobs.JobType;
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.payload.response.JobResponse;
+import com.krterziev.jobprocessor.services.JobService;
+import com.krterziev.jobprocessor.transformers.JobTransformer;
+import jakarta.validation.constraints.Min;
+import java.io.IOException;
+import java.net.URI;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/jobs")
+@Validated
+public class JobController {
+
+  private final JobService jobService;
+  private final long eventsTimeoutMs;
+  private final boolean executionEnabled;
+
+  @Autowired
+  public JobController(final JobService jobService,
+      @Value("${jobs.events.timeout-ms:1800000}") final long eventsTimeoutMs,
+      @Value("${tasks.execution.enabled:false}") final boolean executionEnabled) {
+    this.jobService = jobService;
+    this.eventsTimeoutMs = eventsTimeoutMs;
+    this.executionEnabled = executionEnabled;
+  }
+
+  @PostMapping
+  public ResponseEntity<JobResponse> submitJob(
+      @RequestBody final TasksRequest tasksRequest,
+      @RequestParam(defaultValue = "SORT") final JobType type,
+      @RequestParam(required = false) @Min(1) final Integer concurrency,
+      @RequestParam(defaultValue = "FAIL_FAST") final FailurePolicy failurePolicy)
+      throws InvalidTasksException {
+    if (type == JobType.EXECUTE && !executionEnabled) {
+      throw new InvalidTasksException("Task execution is disabled.");
+    }
+    final Job job = jobService.submitJob(type, transformToGraph(tasksRequest), concurrency,
+        failurePolicy);
+    return ResponseEntity.accepted()
+        .location(URI.create("/jobs/" + job.id()))
+        .body(JobTransformer.transform(job));
+  }
+
+  @GetMapping("/{id}")
+  public ResponseEntity<JobResponse> getJob(@PathVariable final String id)
+      throws JobNotFoundException {
+    return ResponseEntity.ok(JobTransformer.transform(jobService.findJob(id)));
+  }
+
+  @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamJobEvents(@PathVariable final String id) throws JobNotFoundException {
+    final Job job = jobService.findJob(id);
+    final SseEmitter emitter = new SseEmitter(eventsTimeoutMs);
+    final JobListener listener = new JobListener() {
+      @Override
+      public void onProgress(final Job updatedJob, final Object event) {
+        send(emitter, "progress", event);
+      }
+
+      @Override
+      public void onCompleted(final Job completedJob) {
+        send(emitter, "completed", JobTransformer.transform(completedJob));
+        emitter.complete();
+      }
+    };
+    emitter.onCompletion(() -> job.removeListener(listener));
+    emitter.onTimeout(() -> job.removeListener(listener));
+    emitter.onError(error -> job.removeListener(listener));
+    send(emitter, "status", JobTransformer.transform(job));
+    job.addListener(listener);
+    return emitter;
+  }
+
+  private static void send(final SseEmitter emitter, final String name, final Object data) {
+    try {
+      emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+    } catch (final IOException | IllegalStateException e) {
+      emitter.completeWithError(e);
+    }
+  }
+}
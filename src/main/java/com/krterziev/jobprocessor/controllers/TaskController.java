@@ -1,28 +1,68 @@
 package com.krterziev.jobprocessor.controllers;
 
 import static com.krterziev.jobprocessor.transformers.TaskTransformer.transform;
+import static com.krterziev.jobprocessor.transformers.TaskTransformer.transformToGraph;
+import static com.krterziev.jobprocessor.transformers.TaskTransformer.transformToIndices;
+import static com.krterziev.jobprocessor.transformers.TaskTransformer.transformLevels;
+import static com.krterziev.jobprocessor.transformers.TaskTransformer.transformResults;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.krterziev.jobprocessor.caching.CacheStats;
 import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.exceptions.JobNotFoundException;
+import com.krterziev.jobprocessor.metrics.SortMetrics;
+import com.krterziev.jobprocessor.metrics.SortPhase;
+import com.krterziev.jobprocessor.models.SortResult;
 import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.payload.request.ResumeRequest;
 import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.payload.response.CriticalPathResponse;
+import com.krterziev.jobprocessor.payload.response.GraphAnalysisResponse;
+import com.krterziev.jobprocessor.payload.response.ReducedTasksResponse;
+import com.krterziev.jobprocessor.payload.response.ScheduleResponse;
+import com.krterziev.jobprocessor.payload.response.SortResultResponse;
 import com.krterziev.jobprocessor.payload.response.TaskResponse;
+import com.krterziev.jobprocessor.scheduling.CriticalPathAnalysis;
+import com.krterziev.jobprocessor.scheduling.GraphAnalysis;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.scheduling.TaskSchedule;
+import com.krterziev.jobprocessor.scheduling.TieBreaker;
+import com.krterziev.jobprocessor.scheduling.TransitiveReduction;
+import com.krterziev.jobprocessor.services.JobService;
 import com.krterziev.jobprocessor.services.TaskService;
 import com.krterziev.jobprocessor.transformers.BashScriptTransformer;
-import com.krterziev.jobprocessor.validators.TaskPrerequisitesConstraint;
+import com.krterziev.jobprocessor.transformers.GraphAnalysisTransformer;
+import com.krterziev.jobprocessor.transformers.ScheduleTransformer;
+import com.krterziev.jobprocessor.transformers.StreamingTaskTransformer;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -30,32 +70,277 @@ import org.springframework.web.bind.annotation.RestController;
 @Validated
 public class TaskController {
 
+  private static final String STREAMING_INGESTION = "ingestion=streaming";
+  private static final String INDICES_VIEW = "view=indices";
+  private static final int MAX_WORKERS = 1024;
+  private static final int MAX_BATCH_JOBS = 1000;
+  private static final String TASKS_REPRESENTATION = "tasks";
+  private static final String INDICES_REPRESENTATION = "indices";
+  private static final String BASH_SCRIPT_REPRESENTATION = "bash";
+  private static final MediaType APPLICATION_SMILE =
+      MediaType.valueOf("application/x-jackson-smile");
+
   private final TaskService taskService;
+  private final JobService jobService;
+  private final ObjectMapper objectMapper;
+  private final SortMetrics metrics;
+  private final JsonFactory cborFactory = new CBORFactory();
+  private final JsonFactory smileFactory = new SmileFactory();
 
   @Autowired
-  public TaskController(final TaskService taskService) {
+  public TaskController(final TaskService taskService, final JobService jobService,
+      final ObjectMapper objectMapper, final ObjectProvider<SortMetrics> metrics) {
     this.taskService = taskService;
+    this.jobService = jobService;
+    this.objectMapper = objectMapper;
+    this.metrics = SortMetrics.of(metrics);
   }
 
   @PostMapping("/sort")
   public ResponseEntity<List<TaskResponse>> sortTasks(
-      @RequestBody @TaskPrerequisitesConstraint final TasksRequest tasksRequest)
-      throws CircularDependencyDetectedException {
-    final List<Task> tasks = taskService.sortTasks(transform(tasksRequest));
-    return ResponseEntity.ok(transform(tasks));
+      @RequestBody final TasksRequest tasksRequest,
+      @RequestParam(required = false) final TieBreaker tieBreaker, final WebRequest request)
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final IndexedTasksGraph tasksGraph = buildGraph(tasksRequest);
+    final String fingerprint = taskService.fingerprint(tasksGraph, tieBreaker);
+    final String eTag = eTag(fingerprint, TASKS_REPRESENTATION);
+    if (request.checkNotModified(eTag)) {
+      return null;
+    }
+    final List<Task> sortedTasks = taskService.sortTasksCached(fingerprint, tasksGraph,
+        tieBreaker);
+    return ResponseEntity.ok()
+        .eTag(eTag)
+        .body(metrics.record(SortPhase.RENDER, () -> transform(sortedTasks)));
+  }
+
+  @PostMapping(value = "/sort", params = INDICES_VIEW)
+  public ResponseEntity<int[]> sortTasksToIndices(
+      @RequestBody final TasksRequest tasksRequest,
+      @RequestParam(required = false) final TieBreaker tieBreaker, final WebRequest request)
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final IndexedTasksGraph tasksGraph = buildGraph(tasksRequest);
+    final String fingerprint = taskService.fingerprint(tasksGraph, tieBreaker);
+    final String eTag = eTag(fingerprint, INDICES_REPRESENTATION);
+    if (request.checkNotModified(eTag)) {
+      return null;
+    }
+    final List<Task> sortedTasks = taskService.sortTasksCached(fingerprint, tasksGraph,
+        tieBreaker);
+    return ResponseEntity.ok()
+        .eTag(eTag)
+        .body(metrics.record(SortPhase.RENDER,
+            () -> transformToIndices(tasksRequest, sortedTasks)));
+  }
+
+  @PostMapping(value = "/sort", params = STREAMING_INGESTION)
+  public ResponseEntity<List<TaskResponse>> sortStreamedTasks(final InputStream body,
+      @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false)
+      final MediaType contentType,
+      @RequestParam(required = false) final TieBreaker tieBreaker)
+      throws IOException, InvalidTasksException, CircularDependencyDetectedException {
+    final List<Task> tasks = taskService.sortTasks(readTasksGraph(body, contentType),
+        tieBreaker);
+    return ResponseEntity.ok(metrics.record(SortPhase.RENDER, () -> transform(tasks)));
+  }
+
+  @PostMapping(value = "/sort", params = {STREAMING_INGESTION, INDICES_VIEW})
+  public ResponseEntity<int[]> sortStreamedTasksToIndices(final InputStream body,
+      @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false)
+      final MediaType contentType,
+      @RequestParam(required = false) final TieBreaker tieBreaker)
+      throws IOException, InvalidTasksException, CircularDependencyDetectedException {
+    return ResponseEntity.ok(
+        taskService.sortTaskIndices(readTasksGraph(body, contentType), tieBreaker));
   }
 
   @PostMapping(
       value = "/sort-commands")
-  public ResponseEntity<Resource> sortTasksAndReturnBashScript(
-      @RequestBody @TaskPrerequisitesConstraint final TasksRequest tasksRequest)
-      throws IOException, CircularDependencyDetectedException {
-    final List<Task> tasks = taskService.sortTasks(transform(tasksRequest));
-    final InputStream inputStream = BashScriptTransformer.transform(tasks);
-    final InputStreamResource resource = new InputStreamResource(inputStream);
+  public ResponseEntity<StreamingResponseBody> sortTasksAndReturnBashScript(
+      @RequestBody final TasksRequest tasksRequest,
+      @RequestParam(required = false) final TieBreaker tieBreaker, final WebRequest request)
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final IndexedTasksGraph tasksGraph = buildGraph(tasksRequest);
+    final String fingerprint = taskService.fingerprint(tasksGraph, tieBreaker);
+    final String eTag = eTag(fingerprint, BASH_SCRIPT_REPRESENTATION);
+    if (request.checkNotModified(eTag)) {
+      return null;
+    }
+    final List<Task> sortedTasks = taskService.sortTasksCached(fingerprint, tasksGraph,
+        tieBreaker);
+    return ResponseEntity.ok()
+        .eTag(eTag)
+        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+        .body(bashScriptBody(sortedTasks));
+  }
+
+  @PostMapping(value = "/sort-commands", params = STREAMING_INGESTION)
+  public ResponseEntity<StreamingResponseBody> sortStreamedTasksAndReturnBashScript(
+      final InputStream body,
+      @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false)
+      final MediaType contentType,
+      @RequestParam(required = false) final TieBreaker tieBreaker)
+      throws IOException, InvalidTasksException, CircularDependencyDetectedException {
+    final List<Task> tasks = taskService.sortTasks(readTasksGraph(body, contentType),
+        tieBreaker);
+    return bashScript(tasks);
+  }
+
+  @PostMapping("/sort-batch")
+  public ResponseEntity<List<SortResultResponse>> sortTasksBatch(
+      @RequestBody @Size(max = MAX_BATCH_JOBS) final List<TasksRequest> tasksRequests,
+      @RequestParam(required = false) final TieBreaker tieBreaker)
+      throws InterruptedException {
+    final List<SortResult> results = taskService.sortTasksBatch(tasksRequests, tieBreaker);
+    return ResponseEntity.ok(metrics.record(SortPhase.RENDER, () -> transformResults(results)));
+  }
+
+  @PostMapping("/resume")
+  public ResponseEntity<List<TaskResponse>> resumeTasks(
+      @RequestBody final ResumeRequest resumeRequest,
+      @RequestParam(required = false) final String jobId,
+      @RequestParam(required = false) final TieBreaker tieBreaker)
+      throws InvalidTasksException, JobNotFoundException, CircularDependencyDetectedException {
+    final List<Task> tasks = resume(resumeRequest, jobId, tieBreaker);
+    return ResponseEntity.ok(metrics.record(SortPhase.RENDER, () -> transform(tasks)));
+  }
+
+  @PostMapping("/resume-commands")
+  public ResponseEntity<StreamingResponseBody> resumeTasksAndReturnBashScript(
+      @RequestBody final ResumeRequest resumeRequest,
+      @RequestParam(required = false) final String jobId,
+      @RequestParam(required = false) final TieBreaker tieBreaker)
+      throws InvalidTasksException, JobNotFoundException, CircularDependencyDetectedException {
+    return bashScript(resume(resumeRequest, jobId, tieBreaker));
+  }
+
+  @GetMapping("/cache")
+  public ResponseEntity<CacheStats> getCacheStats() {
+    return ResponseEntity.ok(taskService.cacheStats());
+  }
+
+  @PostMapping("/levels")
+  public ResponseEntity<List<List<TaskResponse>>> levelTasks(
+      @RequestBody final TasksRequest tasksRequest)
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final List<List<Task>> levels = taskService.levelTasks(buildGraph(tasksRequest));
+    return ResponseEntity.ok(metrics.record(SortPhase.RENDER, () -> transformLevels(levels)));
+  }
+
+  @PostMapping("/levels-commands")
+  public ResponseEntity<StreamingResponseBody> levelTasksAndReturnBashScript(
+      @RequestBody final TasksRequest tasksRequest,
+      @RequestParam(required = false) @Min(1) final Integer maxParallelism)
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final List<List<Task>> levels = taskService.levelTasks(buildGraph(tasksRequest));
+    final int parallelism = maxParallelism != null ? maxParallelism : Integer.MAX_VALUE;
     return ResponseEntity.ok()
-        .contentLength(inputStream.available())
         .contentType(MediaType.APPLICATION_OCTET_STREAM)
-        .body(resource);
+        .body(outputStream -> metrics.record(SortPhase.RENDER, () -> {
+          BashScriptTransformer.writeLevels(levels, parallelism, outputStream);
+          return null;
+        }));
+  }
+
+  @PostMapping("/analyze")
+  public ResponseEntity<GraphAnalysisResponse> analyzeGraph(
+      @RequestBody final TasksRequest tasksRequest)
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final GraphAnalysis analysis = taskService.analyzeGraph(buildGraph(tasksRequest));
+    return ResponseEntity.ok(GraphAnalysisTransformer.transform(analysis));
+  }
+
+  @PostMapping("/critical-path")
+  public ResponseEntity<CriticalPathResponse> analyzeCriticalPath(
+      @RequestBody final TasksRequest tasksRequest)
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final CriticalPathAnalysis analysis = taskService.analyzeCriticalPath(
+        buildGraph(tasksRequest));
+    return ResponseEntity.ok(ScheduleTransformer.transform(analysis));
+  }
+
+  @PostMapping("/schedule")
+  public ResponseEntity<ScheduleResponse> scheduleTasks(
+      @RequestBody final TasksRequest tasksRequest,
+      @RequestParam(defaultValue = "1") @Min(1) @Max(MAX_WORKERS) final int workers)
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final TaskSchedule schedule = taskService.scheduleTasks(buildGraph(tasksRequest), workers);
+    return ResponseEntity.ok(ScheduleTransformer.transform(schedule));
+  }
+
+  @PostMapping("/reduce")
+  public ResponseEntity<ReducedTasksResponse> reduceTasks(
+      @RequestBody final TasksRequest tasksRequest)
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final TransitiveReduction reduction = taskService.reduceTasks(buildGraph(tasksRequest));
+    return ResponseEntity.ok(metrics.record(SortPhase.RENDER, () -> transform(reduction)));
+  }
+
+  private ResponseEntity<StreamingResponseBody> bashScript(final List<Task> tasks) {
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+        .body(bashScriptBody(tasks));
+  }
+
+  private StreamingResponseBody bashScriptBody(final List<Task> tasks) {
+    return outputStream -> metrics.record(SortPhase.RENDER, () -> {
+      BashScriptTransformer.write(tasks, outputStream);
+      return null;
+    });
+  }
+
+  /**
+   * Completed tasks are the ones listed in the request plus, given a prior execution job, the ones
+   * that job ran successfully.
+   */
+  private List<Task> resume(final ResumeRequest resumeRequest, final String jobId,
+      final TieBreaker tieBreaker)
+      throws InvalidTasksException, JobNotFoundException, CircularDependencyDetectedException {
+    final Set<String> completed = new HashSet<>();
+    if (resumeRequest.completed() != null) {
+      completed.addAll(resumeRequest.completed());
+    }
+    if (jobId != null) {
+      completed.addAll(jobService.findSucceededTaskNames(jobId));
+    }
+    return taskService.resumeTasks(buildGraph(new TasksRequest(resumeRequest.tasks())), completed,
+        tieBreaker);
+  }
+
+  /**
+   * The sorted tasks are cached once for all of their representations, but each representation
+   * has its own entity tag.
+   */
+  private static String eTag(final String fingerprint, final String representation) {
+    return "\"" + fingerprint + "-" + representation + "\"";
+  }
+
+  private IndexedTasksGraph buildGraph(final TasksRequest tasksRequest)
+      throws InvalidTasksException {
+    return metrics.record(SortPhase.BUILD, () -> transformToGraph(tasksRequest));
+  }
+
+  /**
+   * The streaming ingestion builds the graph while it parses, so the whole read is recorded as
+   * deserialization.
+   */
+  private IndexedTasksGraph readTasksGraph(final InputStream body, final MediaType contentType)
+      throws IOException, InvalidTasksException {
+    final long start = System.nanoTime();
+    try (final JsonParser parser = parserFactory(contentType).createParser(body)) {
+      return StreamingTaskTransformer.transform(parser);
+    } finally {
+      metrics.recordPhase(SortPhase.DESERIALIZE, System.nanoTime() - start);
+    }
+  }
+
+  private JsonFactory parserFactory(final MediaType contentType) {
+    if (MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)) {
+      return cborFactory;
+    }
+    if (APPLICATION_SMILE.isCompatibleWith(contentType)) {
+      return smileFactory;
+    }
+    return objectMapper.getFactory();
   }
 }
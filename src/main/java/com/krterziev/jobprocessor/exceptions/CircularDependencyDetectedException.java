@@ -1,7 +1,31 @@
 package com.krterziev.jobprocessor.exceptions;
 
+import com.krterziev.jobprocessor.models.DependencyCycle;
+import java.util.Collections;
+import java.util.List;
+
 public class CircularDependencyDetectedException extends Exception {
+
+  private final List<DependencyCycle> cycles;
+  private final boolean truncated;
+
   public CircularDependencyDetectedException() {
-    super("Circular Dependency Detected");
+    this(Collections.emptyList(), false);
+  }
+
+  public CircularDependencyDetectedException(final List<DependencyCycle> cycles,
+      final boolean truncated) {
+    super(cycles.isEmpty() ? "Circular Dependency Detected"
+        : "Circular Dependency Detected: " + String.join(" -> ", cycles.get(0).cycle()));
+    this.cycles = cycles;
+    this.truncated = truncated;
+  }
+
+  public List<DependencyCycle> getCycles() {
+    return cycles;
+  }
+
+  public boolean isTruncated() {
+    return truncated;
   }
 }
@@ -0,0 +1,7 @@
+package com.krterziev.jobprocessor.exceptions;
+
+public class GraphNotFoundException extends Exception {
+  public GraphNotFoundException(final String id) {
+    super(String.format("Graph %s does not exist.", id));
+  }
+}
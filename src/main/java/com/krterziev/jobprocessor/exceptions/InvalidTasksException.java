@@ -0,0 +1,7 @@
+package com.krterziev.jobprocessor.exceptions;
+
+public class InvalidTasksException extends Exception {
+  public InvalidTasksException(final String message) {
+    super(message);
+  }
+}
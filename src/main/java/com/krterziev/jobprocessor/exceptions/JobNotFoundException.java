@@ -0,0 +1,7 @@
+package com.krterziev.jobprocessor.exceptions;
+
+public class JobNotFoundException extends Exception {
+  public JobNotFoundException(final String id) {
+    super(String.format("Job %s does not exist.", id));
+  }
+}
@@ -0,0 +1,7 @@
+package com.krterziev.jobprocessor.exceptions;
+
+public class TooManyGraphsException extends Exception {
+  public TooManyGraphsException(final int maxSessions) {
+    super(String.format("No more than %d graph sessions can be open at once.", maxSessions));
+  }
+}
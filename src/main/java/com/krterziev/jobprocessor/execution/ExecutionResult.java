@@ -0,0 +1,8 @@
+package com.krterziev.jobprocessor.execution;
+
+import java.util.List;
+
+public record ExecutionResult(boolean succeeded, long durationMs,
+                              List<TaskExecutionResult> tasks) {
+
+}
@@ -0,0 +1,6 @@
+package com.krterziev.jobprocessor.execution;
+
+public enum FailurePolicy {
+  FAIL_FAST,
+  CONTINUE
+}
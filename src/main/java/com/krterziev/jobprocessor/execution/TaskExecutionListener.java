@@ -0,0 +1,9 @@
+package com.krterziev.jobprocessor.execution;
+
+public interface TaskExecutionListener {
+
+  TaskExecutionListener NONE = result -> {
+  };
+
+  void onTaskCompleted(TaskExecutionResult result);
+}
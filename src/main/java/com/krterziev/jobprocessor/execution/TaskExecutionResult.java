@@ -0,0 +1,8 @@
+package com.krterziev.jobprocessor.execution;
+
+import com.krterziev.jobprocessor.models.Task;
+
+public record TaskExecutionResult(Task task, TaskExecutionStatus status, Integer exitCode,
+                                  long startOffsetMs, long durationMs) {
+
+}
@@ -0,0 +1,9 @@
+package com.krterziev.jobprocessor.execution;
+
+public enum TaskExecutionStatus {
+  SUCCEEDED,
+  FAILED,
+  TIMED_OUT,
+  CANCELLED,
+  SKIPPED
+}
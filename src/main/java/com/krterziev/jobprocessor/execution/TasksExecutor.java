@@ -0,0 +1,198 @@
+package com.krterziev.jobprocessor.execution;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the commands of an {@link IndexedTasksGraph} on a bounded pool. A task is submitted as soon
+ * as its own prerequisite counter drops to zero, so independent branches never wait on each other.
+ * Tasks whose prerequisites did not succeed are skipped, and a task that cannot even be started
+ * counts as failed, so every task is always completed. A command still running after the task
+ * timeout is killed and reported as timed out, which counts as a failure.
+ */
+public class TasksExecutor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TasksExecutor.class);
+
+  private final IndexedTasksGraph graph;
+  private final int concurrency;
+  private final FailurePolicy failurePolicy;
+  private final Duration taskTimeout;
+  private final TaskExecutionListener listener;
+  private final AtomicIntegerArray remainingPrerequisites;
+  private final AtomicIntegerArray unsuccessfulPrerequisites;
+  private final TaskExecutionResult[] results;
+  private final Set<Process> runningProcesses = ConcurrentHashMap.newKeySet();
+  private final CountDownLatch completed;
+  private volatile boolean aborted;
+  private ExecutorService executorService;
+  private long startNanos;
+
+  public TasksExecutor(final IndexedTasksGraph graph, final int concurrency,
+      final FailurePolicy failurePolicy, final Duration taskTimeout) {
+    this(graph, concurrency, failurePolicy, taskTimeout, TaskExecutionListener.NONE);
+  }
+
+  public TasksExecutor(final IndexedTasksGraph graph, final int concurrency,
+      final FailurePolicy failurePolicy, final Duration taskTimeout,
+      final TaskExecutionListener listener) {
+    this.graph = graph;
+    this.concurrency = concurrency;
+    this.failurePolicy = failurePolicy;
+    this.taskTimeout = taskTimeout;
+    this.listener = listener;
+    this.remainingPrerequisites = new AtomicIntegerArray(graph.size());
+    this.unsuccessfulPrerequisites = new AtomicIntegerArray(graph.size());
+    this.results = new TaskExecutionResult[graph.size()];
+    this.completed = new CountDownLatch(graph.size());
+  }
+
+  public ExecutionResult execute()
+      throws InvalidTasksException, CircularDependencyDetectedException, InterruptedException {
+    for (int id = 0; id < graph.size(); id++) {
+      if (graph.task(id).command() == null) {
+        throw new InvalidTasksException(
+            String.format("Task %s has no command.", graph.task(id).name()));
+      }
+    }
+    graph.sortIndices();
+    startNanos = System.nanoTime();
+    executorService = Executors.newFixedThreadPool(concurrency);
+    try {
+      for (int id = 0; id < graph.size(); id++) {
+        remainingPrerequisites.set(id, graph.prerequisiteCount(id));
+      }
+      for (int id = 0; id < graph.size(); id++) {
+        if (graph.prerequisiteCount(id) == 0) {
+          submit(id);
+        }
+      }
+      completed.await();
+    } finally {
+      executorService.shutdownNow();
+      runningProcesses.forEach(Process::destroyForcibly);
+    }
+
+    final boolean succeeded = Arrays.stream(results)
+        .allMatch(result -> result.status() == TaskExecutionStatus.SUCCEEDED);
+    return new ExecutionResult(succeeded, elapsedMillis(), Arrays.asList(results));
+  }
+
+  private void submit(final int id) {
+    executorService.execute(() -> run(id));
+  }
+
+  private void run(final int id) {
+    if (aborted) {
+      complete(id, new TaskExecutionResult(graph.task(id), TaskExecutionStatus.SKIPPED, null,
+          elapsedMillis(), 0L));
+      return;
+    }
+
+    final long startOffset = elapsedMillis();
+    TaskExecutionStatus status;
+    Integer exitCode = null;
+    Process process = null;
+    try {
+      process = new ProcessBuilder("bash", "-c", graph.task(id).command())
+          .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+          .redirectError(ProcessBuilder.Redirect.DISCARD)
+          .start();
+      runningProcesses.add(process);
+      if (aborted) {
+        // abort() may have run between the check above and the process being registered.
+        process.destroy();
+      }
+      if (process.waitFor(taskTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        exitCode = process.exitValue();
+        status = exitCode == 0 ? TaskExecutionStatus.SUCCEEDED
+            : aborted ? TaskExecutionStatus.CANCELLED : TaskExecutionStatus.FAILED;
+      } else {
+        process.destroyForcibly();
+        status = TaskExecutionStatus.TIMED_OUT;
+      }
+    } catch (final IOException | RuntimeException e) {
+      LOG.warn("Could not start task {}: {}", graph.task(id).name(), e.getMessage());
+      status = TaskExecutionStatus.FAILED;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      status = TaskExecutionStatus.CANCELLED;
+    } finally {
+      if (process != null) {
+        runningProcesses.remove(process);
+        process.destroyForcibly();
+      }
+    }
+
+    if ((status == TaskExecutionStatus.FAILED || status == TaskExecutionStatus.TIMED_OUT)
+        && failurePolicy == FailurePolicy.FAIL_FAST) {
+      abort();
+    }
+    complete(id, new TaskExecutionResult(graph.task(id), status, exitCode, startOffset,
+        elapsedMillis() - startOffset));
+  }
+
+  private void abort() {
+    aborted = true;
+    runningProcesses.forEach(Process::destroy);
+  }
+
+  private void complete(final int id, final TaskExecutionResult result) {
+    final Deque<Integer> skipped = new ArrayDeque<>();
+    record(id, result, skipped);
+    while (!skipped.isEmpty()) {
+      final int skippedId = skipped.poll();
+      record(skippedId, new TaskExecutionResult(graph.task(skippedId),
+          TaskExecutionStatus.SKIPPED, null, elapsedMillis(), 0L), skipped);
+    }
+  }
+
+  private void record(final int id, final TaskExecutionResult result,
+      final Deque<Integer> skipped) {
+    results[id] = result;
+    notifyListener(result);
+    final boolean succeeded = result.status() == TaskExecutionStatus.SUCCEEDED;
+    for (int edge = graph.dependentEdgesStart(id); edge < graph.dependentEdgesEnd(id); edge++) {
+      final int dependent = graph.dependent(edge);
+      if (!succeeded) {
+        unsuccessfulPrerequisites.incrementAndGet(dependent);
+      }
+      if (remainingPrerequisites.decrementAndGet(dependent) == 0) {
+        if (aborted || unsuccessfulPrerequisites.get(dependent) > 0) {
+          skipped.add(dependent);
+        } else {
+          submit(dependent);
+        }
+      }
+    }
+    completed.countDown();
+  }
+
+  private void notifyListener(final TaskExecutionResult result) {
+    try {
+      listener.onTaskCompleted(result);
+    } catch (final RuntimeException e) {
+      LOG.warn("Task execution listener failed for task {}: {}", result.task().name(),
+          e.getMessage());
+    }
+  }
+
+  private long elapsedMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+  }
+}
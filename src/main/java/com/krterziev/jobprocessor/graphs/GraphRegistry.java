@@ -0,0 +1,58 @@
+package com.krterziev.jobprocessor.graphs;
+
+import com.krterziev.jobprocessor.exceptions.TooManyGraphsException;
+import com.krterziev.jobprocessor.scheduling.DynamicTasksGraph;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory graph session store. Sessions that have not been read or edited for the configured
+ * idle period are evicted before a new one is opened.
+ */
+@Component
+public class GraphRegistry {
+
+  private final Map<String, GraphSession> sessions = new ConcurrentHashMap<>();
+  private final int maxSessions;
+  private final Duration idleTimeout;
+
+  public GraphRegistry(@Value("${graphs.sessions.max-sessions:100}") final int maxSessions,
+      @Value("${graphs.sessions.idle-timeout:1h}") final Duration idleTimeout) {
+    this.maxSessions = maxSessions;
+    this.idleTimeout = idleTimeout;
+  }
+
+  public synchronized GraphSession register(final DynamicTasksGraph graph)
+      throws TooManyGraphsException {
+    evict();
+    if (sessions.size() >= maxSessions) {
+      throw new TooManyGraphsException(maxSessions);
+    }
+    final GraphSession session = new GraphSession(UUID.randomUUID().toString(), graph);
+    sessions.put(session.id(), session);
+    return session;
+  }
+
+  public Optional<GraphSession> find(final String id) {
+    return Optional.ofNullable(sessions.get(id));
+  }
+
+  public boolean remove(final String id) {
+    return sessions.remove(id) != null;
+  }
+
+  public int size() {
+    return sessions.size();
+  }
+
+  synchronized void evict() {
+    final Instant cutoff = Instant.now().minus(idleTimeout);
+    sessions.values().removeIf(session -> !session.lastAccessedAt().isAfter(cutoff));
+  }
+}
@@ -0,0 +1,153 @@
+package com.krterziev.jobprocessor.graphs;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.scheduling.DynamicTasksGraph;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A long-lived task graph that clients edit in place. Every patch is applied atomically: it is
+ * validated up front and, if one of its new dependencies closes a cycle, the changes already made
+ * are undone before the error is reported.
+ */
+public class GraphSession {
+
+  private final String id;
+  private final DynamicTasksGraph graph;
+  private volatile Instant lastAccessedAt;
+
+  public GraphSession(final String id, final DynamicTasksGraph graph) {
+    this.id = id;
+    this.graph = graph;
+    this.lastAccessedAt = Instant.now();
+  }
+
+  public String id() {
+    return id;
+  }
+
+  public Instant lastAccessedAt() {
+    return lastAccessedAt;
+  }
+
+  public synchronized int size() {
+    return graph.size();
+  }
+
+  public synchronized int edgeCount() {
+    return graph.edgeCount();
+  }
+
+  public synchronized List<Task> sort() {
+    touch();
+    return graph.sort();
+  }
+
+  /**
+   * Adds or replaces the {@code upserts} (a replaced task's prerequisites are replaced too) and
+   * removes the {@code removals}, which must no longer be required by any remaining task.
+   */
+  public synchronized void apply(final List<Task> upserts, final List<String> removals)
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    touch();
+    final Map<String, Task> updated = new HashMap<>();
+    final Set<String> removed = new HashSet<>(removals);
+    validate(upserts, removed, updated);
+
+    final Deque<Runnable> undo = new ArrayDeque<>();
+    try {
+      for (final Task task : upserts) {
+        if (graph.contains(task.name())) {
+          final Task previous = graph.replaceTask(task);
+          undo.push(() -> graph.replaceTask(previous));
+          for (final String prerequisite : graph.prerequisites(task.name())) {
+            if (!task.requires().contains(prerequisite)) {
+              removeDependency(prerequisite, task.name(), undo);
+            }
+          }
+        } else {
+          graph.addTask(task);
+          undo.push(() -> graph.removeTask(task.name()));
+        }
+      }
+      for (final String name : removed) {
+        for (final String prerequisite : graph.prerequisites(name)) {
+          removeDependency(prerequisite, name, undo);
+        }
+        for (final String dependent : graph.dependents(name)) {
+          removeDependency(name, dependent, undo);
+        }
+      }
+      for (final Task task : upserts) {
+        for (final String prerequisite : task.requires()) {
+          graph.addDependency(prerequisite, task.name());
+          undo.push(() -> graph.removeDependency(prerequisite, task.name()));
+        }
+      }
+    } catch (final InvalidTasksException | CircularDependencyDetectedException e) {
+      undo.forEach(Runnable::run);
+      throw e;
+    }
+    removed.forEach(graph::removeTask);
+  }
+
+  private void validate(final List<Task> upserts, final Set<String> removed,
+      final Map<String, Task> updated) throws InvalidTasksException {
+    for (final Task task : upserts) {
+      if (task.name() == null || updated.put(task.name(), task) != null) {
+        throw new InvalidTasksException(
+            String.format("Task %s is defined more than once.", task.name()));
+      }
+      if (removed.contains(task.name())) {
+        throw new InvalidTasksException(
+            String.format("Task %s is both updated and removed.", task.name()));
+      }
+    }
+    for (final Task task : upserts) {
+      for (final String prerequisite : task.requires()) {
+        if (removed.contains(prerequisite)
+            || !graph.contains(prerequisite) && !updated.containsKey(prerequisite)) {
+          throw new InvalidTasksException(String.format(
+              "Some of the prerequisites of task %s does not exist.", task.name()));
+        }
+      }
+    }
+    for (final String name : removed) {
+      if (!graph.contains(name)) {
+        throw new InvalidTasksException(String.format("Task %s does not exist.", name));
+      }
+      for (final String dependent : graph.dependents(name)) {
+        final Task update = updated.get(dependent);
+        if (!removed.contains(dependent)
+            && (update == null || update.requires().contains(name))) {
+          throw new InvalidTasksException(
+              String.format("Task %s is still required by task %s.", name, dependent));
+        }
+      }
+    }
+  }
+
+  private void removeDependency(final String prerequisite, final String dependent,
+      final Deque<Runnable> undo) {
+    graph.removeDependency(prerequisite, dependent);
+    undo.push(() -> {
+      try {
+        graph.addDependency(prerequisite, dependent);
+      } catch (final InvalidTasksException | CircularDependencyDetectedException e) {
+        throw new IllegalStateException("Could not restore a removed dependency", e);
+      }
+    });
+  }
+
+  private void touch() {
+    lastAccessedAt = Instant.now();
+  }
+}
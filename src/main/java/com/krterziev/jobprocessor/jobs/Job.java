@@ -0,0 +1,106 @@
+package com.krterziev.jobprocessor.jobs;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class Job {
+
+  private final String id;
+  private final JobType type;
+  private final Instant submittedAt;
+  private final List<JobListener> listeners = new CopyOnWriteArrayList<>();
+  private volatile JobStatus status = JobStatus.QUEUED;
+  private volatile Instant completedAt;
+  private volatile Object result;
+  private volatile String error;
+
+  public Job(final String id, final JobType type, final Instant submittedAt) {
+    this.id = id;
+    this.type = type;
+    this.submittedAt = submittedAt;
+  }
+
+  /**
+   * Rebuilds a job from a stored snapshot. The job keeps the given status and never notifies
+   * listeners of progress.
+   */
+  public static Job restore(final String id, final JobType type, final Instant submittedAt,
+      final JobStatus status, final Instant completedAt, final Object result, final String error) {
+    final Job job = new Job(id, type, submittedAt);
+    job.status = status;
+    job.completedAt = completedAt;
+    job.result = result;
+    job.error = error;
+    return job;
+  }
+
+  public String id() {
+    return id;
+  }
+
+  public JobType type() {
+    return type;
+  }
+
+  public Instant submittedAt() {
+    return submittedAt;
+  }
+
+  public JobStatus status() {
+    return status;
+  }
+
+  public Instant completedAt() {
+    return completedAt;
+  }
+
+  public Object result() {
+    return result;
+  }
+
+  public String error() {
+    return error;
+  }
+
+  public synchronized void addListener(final JobListener listener) {
+    if (status.isTerminal()) {
+      listener.onCompleted(this);
+    } else {
+      listeners.add(listener);
+    }
+  }
+
+  public void removeListener(final JobListener listener) {
+    listeners.remove(listener);
+  }
+
+  public void start() {
+    status = JobStatus.RUNNING;
+  }
+
+  public void progress(final Object event) {
+    for (final JobListener listener : listeners) {
+      listener.onProgress(this, event);
+    }
+  }
+
+  public synchronized void succeed(final Object result) {
+    this.result = result;
+    complete(JobStatus.SUCCEEDED);
+  }
+
+  public synchronized void fail(final String error) {
+    this.error = error;
+    complete(JobStatus.FAILED);
+  }
+
+  private void complete(final JobStatus terminalStatus) {
+    completedAt = Instant.now();
+    status = terminalStatus;
+    for (final JobListener listener : listeners) {
+      listener.onCompleted(this);
+    }
+    listeners.clear();
+  }
+}
@@ -0,0 +1,8 @@
+package com.krterziev.jobprocessor.jobs;
+
+public interface JobListener {
+
+  void onProgress(Job job, Object event);
+
+  void onCompleted(Job job);
+}
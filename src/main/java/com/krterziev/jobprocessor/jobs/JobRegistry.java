@@ -0,0 +1,72 @@
+package com.krterziev.jobprocessor.jobs;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory job store. Finished jobs are kept for the configured retention period and evicted
+ * oldest first once the registry is full; running jobs are never evicted.
+ */
+@Component
+public class JobRegistry {
+
+  private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+  private final Deque<Job> submissionOrder = new ConcurrentLinkedDeque<>();
+  private final int maxJobs;
+  private final Duration retention;
+
+  public JobRegistry(@Value("${jobs.retention.max-jobs:10000}") final int maxJobs,
+      @Value("${jobs.retention.ttl:1h}") final Duration retention) {
+    this.maxJobs = maxJobs;
+    this.retention = retention;
+  }
+
+  /**
+   * Synchronized with eviction, so that concurrent submissions cannot both pass the capacity
+   * check and overfill the registry.
+   */
+  public synchronized Job register(final JobType type) {
+    evict();
+    if (jobs.size() >= maxJobs) {
+      throw new RejectedExecutionException("Too many jobs are in progress");
+    }
+    final Job job = new Job(UUID.randomUUID().toString(), type, Instant.now());
+    jobs.put(job.id(), job);
+    submissionOrder.add(job);
+    return job;
+  }
+
+  public Optional<Job> find(final String id) {
+    return Optional.ofNullable(jobs.get(id));
+  }
+
+  public int size() {
+    return jobs.size();
+  }
+
+  synchronized void evict() {
+    final Instant cutoff = Instant.now().minus(retention);
+    for (final Iterator<Job> iterator = submissionOrder.iterator(); iterator.hasNext(); ) {
+      final Job job = iterator.next();
+      final boolean overCapacity = jobs.size() >= maxJobs;
+      if (!overCapacity && job.submittedAt().isAfter(cutoff)) {
+        break;
+      }
+      if (job.status().isTerminal()
+          && (overCapacity || !job.completedAt().isAfter(cutoff))) {
+        iterator.remove();
+        jobs.remove(job.id());
+      }
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.krterziev.jobprocessor.jobs;
+
+public enum JobStatus {
+  QUEUED(false),
+  RUNNING(false),
+  SUCCEEDED(true),
+  FAILED(true);
+
+  private final boolean terminal;
+
+  JobStatus(final boolean terminal) {
+    this.terminal = terminal;
+  }
+
+  public boolean isTerminal() {
+    return terminal;
+  }
+}
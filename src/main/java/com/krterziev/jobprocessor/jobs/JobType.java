@@ -0,0 +1,6 @@
+package com.krterziev.jobprocessor.jobs;
+
+public enum JobType {
+  SORT,
+  EXECUTE
+}
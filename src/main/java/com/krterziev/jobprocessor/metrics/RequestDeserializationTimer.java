@@ -0,0 +1,55 @@
+package com.krterziev.jobprocessor.metrics;
+
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import java.lang.reflect.Type;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+/**
+ * Times how long the message converters take to bind a {@link TasksRequest} body.
+ */
+@ControllerAdvice
+public class RequestDeserializationTimer extends RequestBodyAdviceAdapter {
+
+  private static final String START_ATTRIBUTE =
+      RequestDeserializationTimer.class.getName() + ".start";
+
+  private final SortMetrics metrics;
+
+  public RequestDeserializationTimer(final ObjectProvider<SortMetrics> metrics) {
+    this.metrics = SortMetrics.of(metrics);
+  }
+
+  @Override
+  public boolean supports(final MethodParameter methodParameter, final Type targetType,
+      final Class<? extends HttpMessageConverter<?>> converterType) {
+    return TasksRequest.class.equals(targetType);
+  }
+
+  @Override
+  public HttpInputMessage beforeBodyRead(final HttpInputMessage inputMessage,
+      final MethodParameter parameter, final Type targetType,
+      final Class<? extends HttpMessageConverter<?>> converterType) {
+    RequestContextHolder.currentRequestAttributes()
+        .setAttribute(START_ATTRIBUTE, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+    return inputMessage;
+  }
+
+  @Override
+  public Object afterBodyRead(final Object body, final HttpInputMessage inputMessage,
+      final MethodParameter parameter, final Type targetType,
+      final Class<? extends HttpMessageConverter<?>> converterType) {
+    final Object start = RequestContextHolder.currentRequestAttributes()
+        .getAttribute(START_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    if (start != null) {
+      metrics.recordPhase(SortPhase.DESERIALIZE, System.nanoTime() - (long) start);
+    }
+    return body;
+  }
+}
@@ -0,0 +1,113 @@
+package com.krterziev.jobprocessor.metrics;
+
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters of the sort pipeline: one timer per {@link SortPhase}, distribution summaries of the shape
+ * of every sorted graph, and counters of rejected requests. All timers and summaries publish
+ * percentile histograms so latency can be correlated with graph shape.
+ */
+@Component
+public class SortMetrics {
+
+  /**
+   * Records into meters that are never published, for contexts without a meter registry.
+   */
+  public static final SortMetrics NOOP = new SortMetrics(new CompositeMeterRegistry());
+
+  private final MeterRegistry registry;
+  private final Map<SortPhase, Timer> phaseTimers = new EnumMap<>(SortPhase.class);
+  private final DistributionSummary graphTasks;
+  private final DistributionSummary graphEdges;
+  private final DistributionSummary graphDepth;
+  private final DistributionSummary graphMaxFanOut;
+  private final Counter cyclesDetected;
+  private final Map<String, Counter> validationFailures = new ConcurrentHashMap<>();
+
+  public SortMetrics(final MeterRegistry registry) {
+    this.registry = registry;
+    for (final SortPhase phase : SortPhase.values()) {
+      phaseTimers.put(phase, Timer.builder("tasks.pipeline.phase")
+          .description("Time spent in one phase of the sort pipeline")
+          .tag("phase", phase.tag())
+          .publishPercentileHistogram()
+          .register(registry));
+    }
+    this.graphTasks = summary("tasks.graph.tasks", "Number of tasks of a sorted graph");
+    this.graphEdges = summary("tasks.graph.edges", "Number of dependencies of a sorted graph");
+    this.graphDepth = summary("tasks.graph.depth", "Number of dependency levels of a sorted graph");
+    this.graphMaxFanOut = summary("tasks.graph.max-fan-out",
+        "Largest number of dependents of a single task");
+    this.cyclesDetected = Counter.builder("tasks.cycles.detected")
+        .description("Task graphs rejected because of a circular dependency")
+        .register(registry);
+  }
+
+  public static SortMetrics of(final ObjectProvider<SortMetrics> provider) {
+    return provider.getIfAvailable(() -> NOOP);
+  }
+
+  public <T, E extends Exception> T record(final SortPhase phase, final Phase<T, E> phaseBody)
+      throws E {
+    final long start = System.nanoTime();
+    try {
+      return phaseBody.run();
+    } finally {
+      recordPhase(phase, System.nanoTime() - start);
+    }
+  }
+
+  public void recordPhase(final SortPhase phase, final long nanos) {
+    phaseTimers.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordGraph(final IndexedTasksGraph graph) {
+    int maxFanOut = 0;
+    for (int id = 0; id < graph.size(); id++) {
+      maxFanOut = Math.max(maxFanOut,
+          graph.dependentEdgesEnd(id) - graph.dependentEdgesStart(id));
+    }
+    graphTasks.record(graph.size());
+    graphEdges.record(graph.edgeCount());
+    graphMaxFanOut.record(maxFanOut);
+  }
+
+  public void recordDepth(final int levels) {
+    graphDepth.record(levels);
+  }
+
+  public void cycleDetected() {
+    cyclesDetected.increment();
+  }
+
+  public void validationFailed(final String reason) {
+    validationFailures.computeIfAbsent(reason, key -> Counter.builder("tasks.validation.failures")
+        .description("Requests rejected because their tasks are invalid")
+        .tag("reason", key)
+        .register(registry)).increment();
+  }
+
+  private DistributionSummary summary(final String name, final String description) {
+    return DistributionSummary.builder(name)
+        .description(description)
+        .publishPercentileHistogram()
+        .register(registry);
+  }
+
+  @FunctionalInterface
+  public interface Phase<T, E extends Exception> {
+
+    T run() throws E;
+  }
+}
@@ -0,0 +1,9 @@
+package com.krterziev.jobprocessor.metrics;
+
+public enum SortPhase {
+  DESERIALIZE, TRANSFORM, BUILD, SORT, ANALYZE, REDUCE, RENDER;
+
+  String tag() {
+    return name().toLowerCase();
+  }
+}
@@ -0,0 +1,7 @@
+package com.krterziev.jobprocessor.models;
+
+import java.util.List;
+
+public record DependencyCycle(List<String> cycle, int componentSize, List<String> members) {
+
+}
@@ -0,0 +1,18 @@
+package com.krterziev.jobprocessor.models;
+
+import java.util.List;
+
+/**
+ * Outcome of one job of a batch: either its sorted tasks or the reason it could not be sorted,
+ * an {@code InvalidTasksException} or a {@code CircularDependencyDetectedException}.
+ */
+public record SortResult(List<Task> tasks, Exception error) {
+
+  public static SortResult sorted(final List<Task> tasks) {
+    return new SortResult(tasks, null);
+  }
+
+  public static SortResult failed(final Exception error) {
+    return new SortResult(null, error);
+  }
+}
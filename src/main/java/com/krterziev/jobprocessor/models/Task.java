@@ -2,6 +2,16 @@ package com.krterziev.jobprocessor.models;
 
 import java.util.Set;
 
-public record Task(String name, String command, Set<String> requires) {
+public record Task(String name, String command, Set<String> requires, Long estimatedDurationMs,
+                   Integer priority) {
+
+  public Task(final String name, final String command, final Set<String> requires) {
+    this(name, command, requires, null);
+  }
+
+  public Task(final String name, final String command, final Set<String> requires,
+      final Long estimatedDurationMs) {
+    this(name, command, requires, estimatedDurationMs, null);
+  }
 
 }
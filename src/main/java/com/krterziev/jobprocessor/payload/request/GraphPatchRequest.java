@@ -0,0 +1,7 @@
+package com.krterziev.jobprocessor.payload.request;
+
+import java.util.List;
+
+public record GraphPatchRequest(List<TaskRequest> tasks, List<String> remove) {
+
+}
@@ -2,6 +2,16 @@ package com.krterziev.jobprocessor.payload.request;
 
 import java.util.List;
 
-public record TaskRequest(String name, String command, List<String> requires) {
+public record TaskRequest(String name, String command, List<String> requires,
+                          Long estimatedDurationMs, Integer priority) {
+
+  public TaskRequest(final String name, final String command, final List<String> requires) {
+    this(name, command, requires, null);
+  }
+
+  public TaskRequest(final String name, final String command, final List<String> requires,
+      final Long estimatedDurationMs) {
+    this(name, command, requires, estimatedDurationMs, null);
+  }
 
 }
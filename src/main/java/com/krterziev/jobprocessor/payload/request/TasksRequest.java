@@ -2,6 +2,10 @@ package com.krterziev.jobprocessor.payload.request;
 
 import java.util.List;
 
-public record TasksRequest(List<TaskRequest> tasks) {
+public record TasksRequest(List<TaskRequest> tasks, List<String> targets) {
+
+  public TasksRequest(final List<TaskRequest> tasks) {
+    this(tasks, null);
+  }
 
 }
@@ -0,0 +1,8 @@
+package com.krterziev.jobprocessor.payload.response;
+
+import java.util.List;
+
+public record CircularDependencyResponse(String message, List<DependencyCycleResponse> cycles,
+                                         boolean truncated) {
+
+}
@@ -0,0 +1,8 @@
+package com.krterziev.jobprocessor.payload.response;
+
+import java.util.List;
+
+public record CriticalPathResponse(long makespanMs, List<String> criticalPath,
+                                   List<TaskTimingResponse> tasks) {
+
+}
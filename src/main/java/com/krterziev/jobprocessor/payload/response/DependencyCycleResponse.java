@@ -0,0 +1,8 @@
+package com.krterziev.jobprocessor.payload.response;
+
+import java.util.List;
+
+public record DependencyCycleResponse(List<String> cycle, int componentSize,
+                                      List<String> members) {
+
+}
@@ -0,0 +1,8 @@
+package com.krterziev.jobprocessor.payload.response;
+
+import java.util.List;
+
+public record ExecutionResponse(boolean succeeded, long durationMs,
+                                List<TaskExecutionResponse> tasks) {
+
+}
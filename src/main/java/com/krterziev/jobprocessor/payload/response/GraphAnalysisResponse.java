@@ -0,0 +1,9 @@
+package com.krterziev.jobprocessor.payload.response;
+
+import java.util.List;
+
+public record GraphAnalysisResponse(int tasks, int edges, int longestPath, int maxWidth,
+                                    List<Integer> levelWidths, int maxFanIn, int maxFanOut,
+                                    int components, double maxSpeedup) {
+
+}
@@ -0,0 +1,5 @@
+package com.krterziev.jobprocessor.payload.response;
+
+public record GraphResponse(String id, int size, int edgeCount) {
+
+}
@@ -0,0 +1,8 @@
+package com.krterziev.jobprocessor.payload.response;
+
+import java.time.Instant;
+
+public record JobResponse(String id, String type, String status, Instant submittedAt,
+                          Instant completedAt, Object result, String error) {
+
+}
@@ -0,0 +1,12 @@
+package com.krterziev.jobprocessor.payload.response;
+
+import com.krterziev.jobprocessor.payload.request.TaskRequest;
+import java.util.List;
+
+/**
+ * The tasks of a transitively reduced graph. The body is itself a valid {@code TasksRequest}, so
+ * it can be submitted to any of the sort endpoints as is.
+ */
+public record ReducedTasksResponse(int edgeCount, int removedEdges, List<TaskRequest> tasks) {
+
+}
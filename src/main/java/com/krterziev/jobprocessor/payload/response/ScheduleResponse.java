@@ -0,0 +1,7 @@
+package com.krterziev.jobprocessor.payload.response;
+
+import java.util.List;
+
+public record ScheduleResponse(int workers, long makespanMs, List<ScheduledTaskResponse> tasks) {
+
+}
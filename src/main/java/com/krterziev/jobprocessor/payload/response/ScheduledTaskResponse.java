@@ -0,0 +1,6 @@
+package com.krterziev.jobprocessor.payload.response;
+
+public record ScheduledTaskResponse(String name, String command, int worker, long startMs,
+                                    long finishMs) {
+
+}
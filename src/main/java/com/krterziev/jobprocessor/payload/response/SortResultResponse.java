@@ -0,0 +1,8 @@
+package com.krterziev.jobprocessor.payload.response;
+
+import java.util.List;
+
+public record SortResultResponse(String status, List<TaskResponse> tasks, String error,
+                                 CircularDependencyResponse circularDependency) {
+
+}
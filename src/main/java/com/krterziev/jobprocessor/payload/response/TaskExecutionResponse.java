@@ -0,0 +1,6 @@
+package com.krterziev.jobprocessor.payload.response;
+
+public record TaskExecutionResponse(String name, String status, Integer exitCode,
+                                    long startOffsetMs, long durationMs) {
+
+}
@@ -0,0 +1,6 @@
+package com.krterziev.jobprocessor.payload.response;
+
+public record TaskTimingResponse(String name, long estimatedDurationMs, long earliestStartMs,
+                                 long latestStartMs, long slackMs, boolean critical) {
+
+}
@@ -0,0 +1,19 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import com.krterziev.jobprocessor.models.Task;
+import java.util.List;
+
+public record CriticalPathAnalysis(long makespanMs, List<Task> criticalPath,
+                                   List<TaskTiming> timings) {
+
+  public record TaskTiming(Task task, long durationMs, long earliestStartMs, long latestStartMs) {
+
+    public long slackMs() {
+      return latestStartMs - earliestStartMs;
+    }
+
+    public boolean critical() {
+      return earliestStartMs == latestStartMs;
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.scheduling.CriticalPathAnalysis.TaskTiming;
+import com.krterziev.jobprocessor.scheduling.TaskSchedule.ScheduledTask;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Duration-weighted analysis of an {@link IndexedTasksGraph}. Tasks without an estimated duration
+ * count as zero-length.
+ */
+public class CriticalPathAnalyzer {
+
+  private final IndexedTasksGraph graph;
+  private final int[] order;
+  private final long[] durations;
+
+  public CriticalPathAnalyzer(final IndexedTasksGraph graph)
+      throws CircularDependencyDetectedException {
+    this.graph = graph;
+    this.order = graph.sortIndices();
+    this.durations = new long[graph.size()];
+    for (int id = 0; id < durations.length; id++) {
+      final Long estimatedDurationMs = graph.task(id).estimatedDurationMs();
+      durations[id] = estimatedDurationMs != null ? Math.max(0L, estimatedDurationMs) : 0L;
+    }
+  }
+
+  public CriticalPathAnalysis analyze() {
+    final int[] offsets = graph.offsets();
+    final int[] targets = graph.targets();
+    final int size = order.length;
+
+    final long[] earliestStart = new long[size];
+    long makespan = 0L;
+    for (final int id : order) {
+      final long finish = earliestStart[id] + durations[id];
+      makespan = Math.max(makespan, finish);
+      for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+        earliestStart[targets[edge]] = Math.max(earliestStart[targets[edge]], finish);
+      }
+    }
+
+    final long[] latestStart = new long[size];
+    for (int index = size - 1; index >= 0; index--) {
+      final int id = order[index];
+      long latestFinish = makespan;
+      for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+        latestFinish = Math.min(latestFinish, latestStart[targets[edge]]);
+      }
+      latestStart[id] = latestFinish - durations[id];
+    }
+
+    final List<TaskTiming> timings = new ArrayList<>(size);
+    for (final int id : order) {
+      timings.add(new TaskTiming(graph.task(id), durations[id], earliestStart[id],
+          latestStart[id]));
+    }
+    return new CriticalPathAnalysis(makespan, criticalPath(earliestStart, latestStart), timings);
+  }
+
+  /**
+   * HLFET list scheduling: ready tasks are dispatched in decreasing order of their bottom level
+   * (the longest duration-weighted path to an exit task) onto whichever worker frees up first.
+   * Ties go to the lowest worker, so no more workers than tasks are ever used and only that many
+   * are tracked.
+   */
+  public TaskSchedule schedule(final int workers) {
+    final int[] offsets = graph.offsets();
+    final int[] targets = graph.targets();
+    final int size = order.length;
+
+    final long[] bottomLevel = new long[size];
+    final int[] remaining = new int[size];
+    for (int index = size - 1; index >= 0; index--) {
+      final int id = order[index];
+      long longestSuccessor = 0L;
+      for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+        longestSuccessor = Math.max(longestSuccessor, bottomLevel[targets[edge]]);
+        remaining[targets[edge]]++;
+      }
+      bottomLevel[id] = durations[id] + longestSuccessor;
+    }
+
+    final PriorityQueue<Integer> ready = new PriorityQueue<>(
+        Comparator.<Integer>comparingLong(id -> -bottomLevel[id]).thenComparingInt(id -> id));
+    for (int id = 0; id < size; id++) {
+      if (remaining[id] == 0) {
+        ready.add(id);
+      }
+    }
+
+    final int usedWorkers = Math.max(1, Math.min(workers, size));
+    final long[] workerAvailable = new long[usedWorkers];
+    final long[] dataReady = new long[size];
+    final List<ScheduledTask> scheduled = new ArrayList<>(size);
+    long makespan = 0L;
+    while (!ready.isEmpty()) {
+      final int id = ready.poll();
+      int worker = 0;
+      for (int candidate = 1; candidate < usedWorkers; candidate++) {
+        if (workerAvailable[candidate] < workerAvailable[worker]) {
+          worker = candidate;
+        }
+      }
+      final long start = Math.max(workerAvailable[worker], dataReady[id]);
+      final long finish = start + durations[id];
+      workerAvailable[worker] = finish;
+      makespan = Math.max(makespan, finish);
+      scheduled.add(new ScheduledTask(graph.task(id), worker, start, finish));
+
+      for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+        final int dependent = targets[edge];
+        dataReady[dependent] = Math.max(dataReady[dependent], finish);
+        if (--remaining[dependent] == 0) {
+          ready.add(dependent);
+        }
+      }
+    }
+    scheduled.sort(Comparator.comparingLong(ScheduledTask::startMs));
+    return new TaskSchedule(workers, makespan, scheduled);
+  }
+
+  private List<Task> criticalPath(final long[] earliestStart, final long[] latestStart) {
+    final int[] offsets = graph.offsets();
+    final int[] targets = graph.targets();
+    final List<Task> path = new ArrayList<>();
+    int current = Arrays.stream(order)
+        .filter(id -> earliestStart[id] == 0L && latestStart[id] == 0L)
+        .findFirst()
+        .orElse(-1);
+    while (current != -1) {
+      path.add(graph.task(current));
+      final long finish = earliestStart[current] + durations[current];
+      int next = -1;
+      for (int edge = offsets[current]; edge < offsets[current + 1] && next == -1; edge++) {
+        final int dependent = targets[edge];
+        if (earliestStart[dependent] == latestStart[dependent]
+            && earliestStart[dependent] == finish) {
+          next = dependent;
+        }
+      }
+      current = next;
+    }
+    return path;
+  }
+}
@@ -0,0 +1,168 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.models.DependencyCycle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Extracts the strongly connected components among the tasks Kahn's algorithm could not sort,
+ * using an iterative Tarjan so that deep graphs cannot overflow the stack. Only the first
+ * {@code maxCycles} components are reported and each is cut to {@code maxMembers} names.
+ */
+class CycleFinder {
+
+  private static final int UNVISITED = -1;
+
+  private final IndexedTasksGraph graph;
+  private final int[] remaining;
+  private final int maxCycles;
+  private final int maxMembers;
+
+  CycleFinder(final IndexedTasksGraph graph, final int[] remaining, final int maxCycles,
+      final int maxMembers) {
+    this.graph = graph;
+    this.remaining = remaining;
+    this.maxCycles = maxCycles;
+    this.maxMembers = maxMembers;
+  }
+
+  CircularDependencyDetectedException findCycles() {
+    final int[] offsets = graph.offsets();
+    final int[] targets = graph.targets();
+    final int size = graph.size();
+    final int[] index = new int[size];
+    final int[] lowLink = new int[size];
+    final int[] component = new int[size];
+    final int[] nextEdge = new int[size];
+    final boolean[] onStack = new boolean[size];
+    final int[] stack = new int[size];
+    final int[] callStack = new int[size];
+    final int[] parents = new int[size];
+    final int[] queue = new int[size];
+    Arrays.fill(index, UNVISITED);
+    Arrays.fill(component, UNVISITED);
+    Arrays.fill(parents, UNVISITED);
+
+    final List<DependencyCycle> cycles = new ArrayList<>();
+    int counter = 0;
+    int stackSize = 0;
+    boolean truncated = false;
+
+    for (int start = 0; start < size && !truncated; start++) {
+      if (remaining[start] == 0 || index[start] != UNVISITED) {
+        continue;
+      }
+      int depth = 0;
+      callStack[depth++] = start;
+      index[start] = lowLink[start] = counter++;
+      nextEdge[start] = offsets[start];
+      stack[stackSize++] = start;
+      onStack[start] = true;
+
+      while (depth > 0 && !truncated) {
+        final int node = callStack[depth - 1];
+        if (nextEdge[node] < offsets[node + 1]) {
+          final int dependent = targets[nextEdge[node]++];
+          if (remaining[dependent] == 0) {
+            continue;
+          }
+          if (index[dependent] == UNVISITED) {
+            index[dependent] = lowLink[dependent] = counter++;
+            nextEdge[dependent] = offsets[dependent];
+            stack[stackSize++] = dependent;
+            onStack[dependent] = true;
+            callStack[depth++] = dependent;
+          } else if (onStack[dependent]) {
+            lowLink[node] = Math.min(lowLink[node], index[dependent]);
+          }
+          continue;
+        }
+
+        depth--;
+        if (depth > 0) {
+          final int parent = callStack[depth - 1];
+          lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+        }
+        if (lowLink[node] == index[node]) {
+          final int componentId = cycles.size();
+          final List<String> members = new ArrayList<>();
+          int componentSize = 0;
+          int member;
+          do {
+            member = stack[--stackSize];
+            onStack[member] = false;
+            component[member] = componentId;
+            if (members.size() < maxMembers) {
+              members.add(graph.task(member).name());
+            }
+            componentSize++;
+          } while (member != node);
+
+          if (componentSize > 1 || hasSelfLoop(node)) {
+            // Only a cycle found past the limit means that some went unreported.
+            if (cycles.size() == maxCycles) {
+              truncated = true;
+            } else {
+              cycles.add(new DependencyCycle(cycle(node, component, componentId, parents, queue),
+                  componentSize, members));
+            }
+          } else {
+            component[node] = UNVISITED;
+          }
+        }
+      }
+    }
+    return new CircularDependencyDetectedException(cycles, truncated);
+  }
+
+  private boolean hasSelfLoop(final int node) {
+    for (int edge = graph.dependentEdgesStart(node); edge < graph.dependentEdgesEnd(node);
+        edge++) {
+      if (graph.dependent(edge) == node) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Breadth-first search inside one component for the shortest way from {@code root} back to
+   * itself, listed in execution order (prerequisite first).
+   */
+  private List<String> cycle(final int root, final int[] component, final int componentId,
+      final int[] parents, final int[] queue) {
+    final int[] offsets = graph.offsets();
+    final int[] targets = graph.targets();
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = root;
+    parents[root] = root;
+    int last = UNVISITED;
+    while (head < tail && last == UNVISITED) {
+      final int node = queue[head++];
+      for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+        final int dependent = targets[edge];
+        if (dependent == root) {
+          last = node;
+          break;
+        }
+        if (component[dependent] == componentId && parents[dependent] == UNVISITED) {
+          parents[dependent] = node;
+          queue[tail++] = dependent;
+        }
+      }
+    }
+
+    final List<String> path = new ArrayList<>();
+    path.add(graph.task(root).name());
+    for (int node = last; node != root; node = parents[node]) {
+      path.add(graph.task(node).name());
+    }
+    path.add(graph.task(root).name());
+    Collections.reverse(path);
+    return path.size() > maxMembers ? new ArrayList<>(path.subList(0, maxMembers)) : path;
+  }
+}
@@ -0,0 +1,318 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.DependencyCycle;
+import com.krterziev.jobprocessor.models.Task;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Mutable dependency graph that keeps a topological order up to date while tasks and dependencies
+ * are added or removed, using the Pearce-Kelly dynamic topological sort. Inserting a dependency
+ * only searches and reorders the tasks positioned between its two ends, so a small edit to a large
+ * graph does not re-sort the whole graph. Removals never invalidate the order.
+ *
+ * <p>Not thread-safe.
+ */
+public class DynamicTasksGraph {
+
+  private static final int REMOVED = -1;
+
+  private final Map<String, Integer> ids = new HashMap<>();
+  private final List<Task> tasks = new ArrayList<>();
+  private final List<Set<Integer>> dependents = new ArrayList<>();
+  private final List<Set<Integer>> prerequisites = new ArrayList<>();
+  private final Deque<Integer> freeIds = new ArrayDeque<>();
+  private int[] positions = new int[16];
+  private int[] order = new int[16];
+  private int nextPosition;
+  private int edgeCount;
+
+  /**
+   * Loads an acyclic set of tasks in one pass: the tasks are sorted once and inserted in that
+   * order, so every dependency already points forward and no reordering is needed.
+   */
+  public static DynamicTasksGraph of(final List<Task> tasks)
+      throws CircularDependencyDetectedException, InvalidTasksException {
+    return of(new IndexedTasksGraph(tasks));
+  }
+
+  /**
+   * Loads a built graph the same way. The dependencies are read from its edges, since the tasks
+   * of a built graph carry no prerequisites.
+   */
+  public static DynamicTasksGraph of(final IndexedTasksGraph indexedGraph)
+      throws CircularDependencyDetectedException, InvalidTasksException {
+    final int[] order = indexedGraph.sortIndices();
+    final DynamicTasksGraph graph = new DynamicTasksGraph();
+    for (final int id : order) {
+      graph.addTask(indexedGraph.task(id));
+    }
+    for (final int id : order) {
+      final String name = indexedGraph.task(id).name();
+      for (int edge = indexedGraph.dependentEdgesStart(id);
+          edge < indexedGraph.dependentEdgesEnd(id); edge++) {
+        graph.addDependency(name, indexedGraph.task(indexedGraph.dependent(edge)).name());
+      }
+    }
+    return graph;
+  }
+
+  public int size() {
+    return ids.size();
+  }
+
+  public int edgeCount() {
+    return edgeCount;
+  }
+
+  public boolean contains(final String name) {
+    return ids.containsKey(name);
+  }
+
+  public Task task(final String name) {
+    final Integer id = ids.get(name);
+    return id == null ? null : tasks.get(id);
+  }
+
+  public List<String> dependents(final String name) {
+    return names(dependents.get(id(name)));
+  }
+
+  public List<String> prerequisites(final String name) {
+    return names(prerequisites.get(id(name)));
+  }
+
+  public void addTask(final Task task) throws InvalidTasksException {
+    if (ids.containsKey(task.name())) {
+      throw new InvalidTasksException(
+          String.format("Task %s is defined more than once.", task.name()));
+    }
+    final int id;
+    if (freeIds.isEmpty()) {
+      id = tasks.size();
+      tasks.add(task);
+      dependents.add(new LinkedHashSet<>());
+      prerequisites.add(new LinkedHashSet<>());
+      if (id == positions.length) {
+        positions = Arrays.copyOf(positions, id * 2);
+      }
+    } else {
+      id = freeIds.poll();
+      tasks.set(id, task);
+    }
+    ids.put(task.name(), id);
+    if (nextPosition == order.length) {
+      compact();
+    }
+    positions[id] = nextPosition;
+    order[nextPosition++] = id;
+  }
+
+  /**
+   * Replaces the stored record of an existing task. Its dependencies are not touched.
+   */
+  public Task replaceTask(final Task task) {
+    final int id = id(task.name());
+    final Task previous = tasks.get(id);
+    tasks.set(id, task);
+    return previous;
+  }
+
+  /**
+   * Removes a task together with all of its dependencies in both directions.
+   */
+  public void removeTask(final String name) {
+    final int id = id(name);
+    for (final int dependent : dependents.get(id)) {
+      prerequisites.get(dependent).remove(id);
+      edgeCount--;
+    }
+    for (final int prerequisite : prerequisites.get(id)) {
+      dependents.get(prerequisite).remove(id);
+      edgeCount--;
+    }
+    dependents.get(id).clear();
+    prerequisites.get(id).clear();
+    ids.remove(name);
+    tasks.set(id, null);
+    order[positions[id]] = REMOVED;
+    freeIds.add(id);
+  }
+
+  /**
+   * Adds the dependency {@code prerequisite -> dependent}. When the dependent is currently ordered
+   * before its new prerequisite, only the tasks between the two positions are visited: a forward
+   * search from the dependent (a hit on the prerequisite means the edge closes a cycle, which is
+   * rejected without changing the graph) and a backward search from the prerequisite. The two
+   * visited sets then swap into the same pool of positions, backward set first.
+   */
+  public void addDependency(final String prerequisite, final String dependent)
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final Integer source = ids.get(prerequisite);
+    final int target = id(dependent);
+    if (source == null) {
+      throw new InvalidTasksException(String.format(
+          "Some of the prerequisites of task %s does not exist.", dependent));
+    }
+    if (dependents.get(source).contains(target)) {
+      return;
+    }
+    if (source == target) {
+      throw cycle(Arrays.asList(prerequisite, prerequisite));
+    }
+
+    final int lowerBound = positions[target];
+    final int upperBound = positions[source];
+    if (lowerBound < upperBound) {
+      final List<Integer> forward = searchForward(source, target, upperBound);
+      final List<Integer> backward = searchBackward(source, lowerBound);
+      reorder(backward, forward);
+    }
+    dependents.get(source).add(target);
+    prerequisites.get(target).add(source);
+    edgeCount++;
+  }
+
+  public void removeDependency(final String prerequisite, final String dependent) {
+    final Integer source = ids.get(prerequisite);
+    final Integer target = ids.get(dependent);
+    if (source != null && target != null && dependents.get(source).remove(target)) {
+      prerequisites.get(target).remove(source);
+      edgeCount--;
+    }
+  }
+
+  public List<Task> sort() {
+    final List<Task> result = new ArrayList<>(ids.size());
+    for (int position = 0; position < nextPosition; position++) {
+      if (order[position] != REMOVED) {
+        result.add(tasks.get(order[position]));
+      }
+    }
+    return result;
+  }
+
+  private List<Integer> searchForward(final int source, final int target, final int upperBound)
+      throws CircularDependencyDetectedException {
+    final Map<Integer, Integer> parents = new HashMap<>();
+    final Deque<Integer> stack = new ArrayDeque<>();
+    final List<Integer> visited = new ArrayList<>();
+    parents.put(target, target);
+    stack.push(target);
+    while (!stack.isEmpty()) {
+      final int node = stack.pop();
+      visited.add(node);
+      for (final int dependent : dependents.get(node)) {
+        if (dependent == source) {
+          final List<String> path = new ArrayList<>();
+          path.add(tasks.get(source).name());
+          for (int step = node; step != target; step = parents.get(step)) {
+            path.add(tasks.get(step).name());
+          }
+          path.add(tasks.get(target).name());
+          path.add(tasks.get(source).name());
+          Collections.reverse(path.subList(1, path.size() - 1));
+          throw cycle(path);
+        }
+        if (positions[dependent] < upperBound && !parents.containsKey(dependent)) {
+          parents.put(dependent, node);
+          stack.push(dependent);
+        }
+      }
+    }
+    return visited;
+  }
+
+  private List<Integer> searchBackward(final int source, final int lowerBound) {
+    final Set<Integer> seen = new HashSet<>();
+    final Deque<Integer> stack = new ArrayDeque<>();
+    final List<Integer> visited = new ArrayList<>();
+    seen.add(source);
+    stack.push(source);
+    while (!stack.isEmpty()) {
+      final int node = stack.pop();
+      visited.add(node);
+      for (final int prerequisite : prerequisites.get(node)) {
+        if (positions[prerequisite] > lowerBound && seen.add(prerequisite)) {
+          stack.push(prerequisite);
+        }
+      }
+    }
+    return visited;
+  }
+
+  private void reorder(final List<Integer> backward, final List<Integer> forward) {
+    final Comparator<Integer> byPosition = Comparator.comparingInt(id -> positions[id]);
+    backward.sort(byPosition);
+    forward.sort(byPosition);
+    final int[] pool = new int[backward.size() + forward.size()];
+    int index = 0;
+    for (final int id : backward) {
+      pool[index++] = positions[id];
+    }
+    for (final int id : forward) {
+      pool[index++] = positions[id];
+    }
+    Arrays.sort(pool);
+    index = 0;
+    for (final int id : backward) {
+      positions[id] = pool[index];
+      order[pool[index++]] = id;
+    }
+    for (final int id : forward) {
+      positions[id] = pool[index];
+      order[pool[index++]] = id;
+    }
+  }
+
+  /**
+   * Closes the gaps left by removed tasks, or grows the position table when it is mostly live.
+   */
+  private void compact() {
+    if (ids.size() * 2 >= order.length) {
+      order = Arrays.copyOf(order, order.length * 2);
+    }
+    int live = 0;
+    for (int position = 0; position < nextPosition; position++) {
+      final int id = order[position];
+      if (id != REMOVED) {
+        positions[id] = live;
+        order[live++] = id;
+      }
+    }
+    nextPosition = live;
+  }
+
+  private int id(final String name) {
+    final Integer id = ids.get(name);
+    if (id == null) {
+      throw new IllegalArgumentException(String.format("Task %s does not exist.", name));
+    }
+    return id;
+  }
+
+  private List<String> names(final Set<Integer> taskIds) {
+    final List<String> names = new ArrayList<>(taskIds.size());
+    for (final int id : taskIds) {
+      names.add(tasks.get(id).name());
+    }
+    return names;
+  }
+
+  private static CircularDependencyDetectedException cycle(final List<String> path) {
+    return new CircularDependencyDetectedException(Collections.singletonList(
+        new DependencyCycle(path, path.size() - 1, path.subList(0, path.size() - 1))), false);
+  }
+}
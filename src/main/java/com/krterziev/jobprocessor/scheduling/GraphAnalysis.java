@@ -0,0 +1,26 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import java.util.List;
+
+/**
+ * Shape of a dependency graph. The longest path counts tasks, so it is also the number of levels.
+ */
+public record GraphAnalysis(int tasks, int edges, int longestPath, List<Integer> levelWidths,
+                            int maxFanIn, int maxFanOut, int components) {
+
+  public int maxWidth() {
+    int maxWidth = 0;
+    for (final int width : levelWidths) {
+      maxWidth = Math.max(maxWidth, width);
+    }
+    return maxWidth;
+  }
+
+  /**
+   * Speedup of running every level fully in parallel over running the tasks one by one, assuming
+   * tasks of equal length and unlimited workers.
+   */
+  public double maxSpeedup() {
+    return longestPath > 0 ? (double) tasks / longestPath : 0.0;
+  }
+}
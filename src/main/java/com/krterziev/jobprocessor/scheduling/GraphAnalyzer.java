@@ -0,0 +1,79 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import java.util.Arrays;
+
+/**
+ * Profiles an {@link IndexedTasksGraph} in a single pass of Kahn's algorithm: the FIFO queue
+ * yields the width of every level, and the weakly connected components are joined in a
+ * union-find while the edges are walked. The walk only allocates primitive arrays; the level
+ * widths are boxed once at the end.
+ */
+public class GraphAnalyzer {
+
+  private GraphAnalyzer() {
+  }
+
+  public static GraphAnalysis analyze(final IndexedTasksGraph graph)
+      throws CircularDependencyDetectedException {
+    final int size = graph.size();
+    final int[] offsets = graph.offsets();
+    final int[] targets = graph.targets();
+    final int[] remaining = new int[size];
+    final int[] parents = new int[size];
+    final int[] queue = new int[size];
+    final int[] levelWidths = new int[size];
+    int maxFanIn = 0;
+    int tail = 0;
+    for (int id = 0; id < size; id++) {
+      remaining[id] = graph.prerequisiteCount(id);
+      maxFanIn = Math.max(maxFanIn, remaining[id]);
+      parents[id] = id;
+      if (remaining[id] == 0) {
+        queue[tail++] = id;
+      }
+    }
+
+    int maxFanOut = 0;
+    int components = size;
+    int levels = 0;
+    int head = 0;
+    while (head < tail) {
+      final int levelEnd = tail;
+      levelWidths[levels++] = levelEnd - head;
+      while (head < levelEnd) {
+        final int id = queue[head++];
+        maxFanOut = Math.max(maxFanOut, offsets[id + 1] - offsets[id]);
+        int root = find(parents, id);
+        for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+          final int dependent = targets[edge];
+          final int dependentRoot = find(parents, dependent);
+          if (dependentRoot != root) {
+            // The larger root is linked under the smaller one, which stays the root of both.
+            parents[Math.max(root, dependentRoot)] = Math.min(root, dependentRoot);
+            root = Math.min(root, dependentRoot);
+            components--;
+          }
+          if (--remaining[dependent] == 0) {
+            queue[tail++] = dependent;
+          }
+        }
+      }
+    }
+    if (tail != size) {
+      throw new CycleFinder(graph, remaining, IndexedTasksGraph.MAX_REPORTED_CYCLES,
+          IndexedTasksGraph.MAX_REPORTED_CYCLE_MEMBERS).findCycles();
+    }
+    return new GraphAnalysis(size, graph.edgeCount(), levels,
+        Arrays.stream(levelWidths, 0, levels).boxed().toList(), maxFanIn, maxFanOut, components);
+  }
+
+  private static int find(final int[] parents, final int id) {
+    int node = id;
+    while (parents[node] != node) {
+      parents[node] = parents[parents[node]];
+      node = parents[node];
+    }
+    return node;
+  }
+}
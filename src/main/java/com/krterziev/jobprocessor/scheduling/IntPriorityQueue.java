@@ -0,0 +1,59 @@
+package com.krterziev.jobprocessor.scheduling;
+
+/**
+ * Binary min-heap of task ids ordered by a fixed key per id, ties going to the smaller id. Ids
+ * and keys stay primitive, so pushing and popping never allocate. Every id may be pushed at most
+ * once.
+ */
+class IntPriorityQueue {
+
+  private final int[] keys;
+  private final int[] heap;
+  private int size;
+
+  IntPriorityQueue(final int[] keys) {
+    this.keys = keys;
+    this.heap = new int[keys.length];
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  void push(final int id) {
+    int index = size++;
+    while (index > 0) {
+      final int parent = (index - 1) >>> 1;
+      if (!precedes(id, heap[parent])) {
+        break;
+      }
+      heap[index] = heap[parent];
+      index = parent;
+    }
+    heap[index] = id;
+  }
+
+  int pop() {
+    final int first = heap[0];
+    final int last = heap[--size];
+    int index = 0;
+    int child = 1;
+    while (child < size) {
+      if (child + 1 < size && precedes(heap[child + 1], heap[child])) {
+        child++;
+      }
+      if (!precedes(heap[child], last)) {
+        break;
+      }
+      heap[index] = heap[child];
+      index = child;
+      child = 2 * index + 1;
+    }
+    heap[index] = last;
+    return first;
+  }
+
+  private boolean precedes(final int id, final int other) {
+    return keys[id] != keys[other] ? keys[id] < keys[other] : id < other;
+  }
+}
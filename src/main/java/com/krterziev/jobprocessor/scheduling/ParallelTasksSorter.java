@@ -0,0 +1,208 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.models.Task;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Multi-core topological sort of an {@link IndexedTasksGraph}. Graphs below the threshold, and
+ * every graph on a single-threaded pool, take the sequential path unchanged. Larger graphs are
+ * split into weakly connected components with a lock-free union-find, the components are sorted
+ * concurrently, and any component that is itself above the threshold is sorted level by level
+ * with parallel in-degree decrements.
+ *
+ * <p>The result is deterministic: components appear in the order of their first task, and each
+ * level of a parallel component is emitted in task id order. It is a valid order, but it may
+ * differ from the one of the sequential sort.
+ */
+public class ParallelTasksSorter {
+
+  private static final int MIN_PARALLEL_FRONTIER = 4096;
+
+  private final ForkJoinPool pool;
+  private final int parallelThreshold;
+
+  public ParallelTasksSorter(final ForkJoinPool pool, final int parallelThreshold) {
+    this.pool = pool;
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  public List<Task> sort(final IndexedTasksGraph graph)
+      throws CircularDependencyDetectedException {
+    return graph.tasks(sortIndices(graph));
+  }
+
+  public boolean isParallel(final IndexedTasksGraph graph) {
+    return graph.size() >= parallelThreshold && pool.getParallelism() > 1;
+  }
+
+  public int[] sortIndices(final IndexedTasksGraph graph)
+      throws CircularDependencyDetectedException {
+    if (!isParallel(graph)) {
+      return graph.sortIndices();
+    }
+
+    final int size = graph.size();
+    final AtomicIntegerArray remaining = new AtomicIntegerArray(size);
+    final int[] order = new int[size];
+    final AtomicBoolean acyclic = new AtomicBoolean(true);
+    pool.submit(() -> {
+      IntStream.range(0, size).parallel()
+          .forEach(id -> remaining.set(id, graph.prerequisiteCount(id)));
+      final Components components = components(graph);
+      IntStream.range(0, components.count()).parallel().forEach(component -> {
+        final int start = components.offsets()[component];
+        final int end = components.offsets()[component + 1];
+        final boolean sorted = end - start >= parallelThreshold
+            ? sortInParallel(graph, components.members(), start, end, remaining, order)
+            : sortSequentially(graph, components.members(), start, end, remaining, order);
+        if (!sorted) {
+          acyclic.set(false);
+        }
+      });
+    }).join();
+
+    if (!acyclic.get()) {
+      final int[] leftover = new int[size];
+      for (int id = 0; id < size; id++) {
+        leftover[id] = remaining.get(id);
+      }
+      throw new CycleFinder(graph, leftover, IndexedTasksGraph.MAX_REPORTED_CYCLES,
+          IndexedTasksGraph.MAX_REPORTED_CYCLE_MEMBERS).findCycles();
+    }
+    return order;
+  }
+
+  /**
+   * Groups task ids by weakly connected component. Every union links the larger root under the
+   * smaller one with a CAS, so the root of a component is its smallest id; members are listed in
+   * id order and components in the order of their roots.
+   */
+  private static Components components(final IndexedTasksGraph graph) {
+    final int size = graph.size();
+    final AtomicIntegerArray parents = new AtomicIntegerArray(size);
+    IntStream.range(0, size).parallel().forEach(id -> parents.set(id, id));
+    IntStream.range(0, size).parallel().forEach(id -> {
+      for (int edge = graph.dependentEdgesStart(id); edge < graph.dependentEdgesEnd(id);
+          edge++) {
+        union(parents, id, graph.dependent(edge));
+      }
+    });
+
+    final int[] roots = new int[size];
+    IntStream.range(0, size).parallel().forEach(id -> roots[id] = find(parents, id));
+    final int[] componentOf = new int[size];
+    int count = 0;
+    for (int id = 0; id < size; id++) {
+      if (roots[id] == id) {
+        componentOf[id] = count++;
+      }
+    }
+    final int[] offsets = new int[count + 1];
+    for (int id = 0; id < size; id++) {
+      offsets[componentOf[roots[id]] + 1]++;
+    }
+    for (int component = 0; component < count; component++) {
+      offsets[component + 1] += offsets[component];
+    }
+    final int[] members = new int[size];
+    final int[] cursor = Arrays.copyOf(offsets, count);
+    for (int id = 0; id < size; id++) {
+      members[cursor[componentOf[roots[id]]]++] = id;
+    }
+    return new Components(count, offsets, members);
+  }
+
+  private static int find(final AtomicIntegerArray parents, final int id) {
+    int node = id;
+    int parent = parents.get(node);
+    while (parent != node) {
+      final int grandparent = parents.get(parent);
+      if (grandparent != parent) {
+        parents.compareAndSet(node, parent, grandparent);
+      }
+      node = parent;
+      parent = parents.get(node);
+    }
+    return node;
+  }
+
+  private static void union(final AtomicIntegerArray parents, final int first,
+      final int second) {
+    while (true) {
+      final int firstRoot = find(parents, first);
+      final int secondRoot = find(parents, second);
+      if (firstRoot == secondRoot) {
+        return;
+      }
+      final int smaller = Math.min(firstRoot, secondRoot);
+      final int larger = Math.max(firstRoot, secondRoot);
+      if (parents.compareAndSet(larger, larger, smaller)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * FIFO Kahn over one component, writing into {@code order[start, end)}.
+   */
+  private static boolean sortSequentially(final IndexedTasksGraph graph, final int[] members,
+      final int start, final int end, final AtomicIntegerArray remaining, final int[] order) {
+    int tail = start;
+    for (int index = start; index < end; index++) {
+      if (remaining.get(members[index]) == 0) {
+        order[tail++] = members[index];
+      }
+    }
+    for (int head = start; head < tail; head++) {
+      final int id = order[head];
+      for (int edge = graph.dependentEdgesStart(id); edge < graph.dependentEdgesEnd(id);
+          edge++) {
+        final int dependent = graph.dependent(edge);
+        if (remaining.decrementAndGet(dependent) == 0) {
+          order[tail++] = dependent;
+        }
+      }
+    }
+    return tail == end;
+  }
+
+  /**
+   * Level-synchronous Kahn over one component: the dependents of a whole frontier are decremented
+   * in parallel, the tasks whose counter reaches zero form the next frontier, which is put back
+   * into id order so that the result does not depend on thread timing. That sort stays on the
+   * calling pool thread, since {@link Arrays#parallelSort} would size itself by the common pool.
+   * Narrow frontiers are drained on the calling thread, where forking would cost more than it
+   * saves.
+   */
+  private static boolean sortInParallel(final IndexedTasksGraph graph, final int[] members,
+      final int start, final int end, final AtomicIntegerArray remaining, final int[] order) {
+    int[] frontier = IntStream.range(start, end)
+        .map(index -> members[index])
+        .filter(id -> remaining.get(id) == 0)
+        .toArray();
+    int tail = start;
+    while (frontier.length > 0) {
+      System.arraycopy(frontier, 0, order, tail, frontier.length);
+      tail += frontier.length;
+      final IntStream frontierStream = frontier.length >= MIN_PARALLEL_FRONTIER
+          ? IntStream.of(frontier).parallel() : IntStream.of(frontier);
+      frontier = frontierStream
+          .flatMap(id -> IntStream.range(graph.dependentEdgesStart(id),
+              graph.dependentEdgesEnd(id)).map(graph::dependent))
+          .filter(dependent -> remaining.decrementAndGet(dependent) == 0)
+          .toArray();
+      Arrays.sort(frontier);
+    }
+    return tail == end;
+  }
+
+  private record Components(int count, int[] offsets, int[] members) {
+
+  }
+}
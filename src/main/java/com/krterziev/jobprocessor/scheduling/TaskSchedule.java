@@ -0,0 +1,11 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import com.krterziev.jobprocessor.models.Task;
+import java.util.List;
+
+public record TaskSchedule(int workers, long makespanMs, List<ScheduledTask> tasks) {
+
+  public record ScheduledTask(Task task, int worker, long startMs, long finishMs) {
+
+  }
+}
@@ -0,0 +1,209 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.Task;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incrementally builds an {@link IndexedTasksGraph} from tasks as they arrive. Prerequisites may
+ * reference tasks that have not been added yet; their existence is checked once in {@link
+ * #build()}.
+ */
+public class TasksGraphBuilder {
+
+  private static final int UNDEFINED = -1;
+
+  private final Map<String, Integer> ids;
+  private final List<Task> tasks;
+  private int[] positions;
+  private int[] lastRequiredBy;
+  private int[] edgeSources;
+  private int[] edgeTargets;
+  private int edges;
+
+  public TasksGraphBuilder() {
+    this(16);
+  }
+
+  /**
+   * Sizes the builder for {@code expectedTasks} tasks so that no table has to grow while they are
+   * added.
+   */
+  public TasksGraphBuilder(final int expectedTasks) {
+    final int capacity = Math.max(16, expectedTasks);
+    this.ids = new HashMap<>((int) (capacity / 0.75f) + 1);
+    this.tasks = new ArrayList<>(capacity);
+    this.positions = new int[capacity];
+    this.lastRequiredBy = new int[capacity];
+    this.edgeSources = new int[capacity];
+    this.edgeTargets = new int[capacity];
+  }
+
+  public void addTask(final String name, final String command, final Iterable<String> requires)
+      throws InvalidTasksException {
+    addTask(name, command, requires, null);
+  }
+
+  public void addTask(final String name, final String command, final Iterable<String> requires,
+      final Long estimatedDurationMs) throws InvalidTasksException {
+    addTask(name, command, requires, estimatedDurationMs, null);
+  }
+
+  public void addTask(final String name, final String command, final Iterable<String> requires,
+      final Long estimatedDurationMs, final Integer priority) throws InvalidTasksException {
+    final int id = intern(name);
+    if (positions[id] != UNDEFINED) {
+      throw new InvalidTasksException(String.format("Task %s is defined more than once.", name));
+    }
+    final int position = tasks.size();
+    positions[id] = position;
+    tasks.add(new Task(name, command, Collections.emptySet(), estimatedDurationMs, priority));
+
+    if (requires == null) {
+      return;
+    }
+    for (final String prerequisiteTaskName : requires) {
+      final int prerequisiteId = intern(prerequisiteTaskName);
+      if (lastRequiredBy[prerequisiteId] == position) {
+        continue;
+      }
+      lastRequiredBy[prerequisiteId] = position;
+      if (edges == edgeSources.length) {
+        edgeSources = Arrays.copyOf(edgeSources, edges * 2);
+        edgeTargets = Arrays.copyOf(edgeTargets, edges * 2);
+      }
+      edgeSources[edges] = prerequisiteId;
+      edgeTargets[edges] = position;
+      edges++;
+    }
+  }
+
+  public IndexedTasksGraph build() throws InvalidTasksException {
+    return build((BitSet) null);
+  }
+
+  /**
+   * Builds the graph of {@code targets} and everything they transitively require, like {@code
+   * make target}. The prerequisites are walked backward from the targets, marking tasks in a
+   * {@link BitSet}, and every other task is dropped before the edges are laid out; only the
+   * prerequisites of the kept tasks have to exist. Null or empty targets keep every task.
+   */
+  public IndexedTasksGraph build(final Collection<String> targets) throws InvalidTasksException {
+    if (targets == null || targets.isEmpty()) {
+      return build();
+    }
+    final int size = tasks.size();
+    final int[] requirementOffsets = new int[size + 1];
+    for (int edge = 0; edge < edges; edge++) {
+      requirementOffsets[edgeTargets[edge] + 1]++;
+    }
+    for (int position = 0; position < size; position++) {
+      requirementOffsets[position + 1] += requirementOffsets[position];
+    }
+
+    final BitSet selected = new BitSet(size);
+    final int[] queue = new int[size];
+    int tail = 0;
+    for (final String target : targets) {
+      final Integer id = ids.get(target);
+      final int position = id != null ? positions[id] : UNDEFINED;
+      if (position == UNDEFINED) {
+        throw new InvalidTasksException(
+            String.format("Target task %s does not exist.", target));
+      }
+      if (!selected.get(position)) {
+        selected.set(position);
+        queue[tail++] = position;
+      }
+    }
+    for (int head = 0; head < tail; head++) {
+      final int position = queue[head];
+      for (int edge = requirementOffsets[position]; edge < requirementOffsets[position + 1];
+          edge++) {
+        final int source = source(edge);
+        if (!selected.get(source)) {
+          selected.set(source);
+          queue[tail++] = source;
+        }
+      }
+    }
+    return build(selected);
+  }
+
+  /**
+   * Lays out the edges between the {@code selected} tasks, or between all of them when it is
+   * null. Edges are recorded in the order their dependents were added, which is what lets {@link
+   * #build(Collection)} find the prerequisites of a task without an index of its own.
+   */
+  private IndexedTasksGraph build(final BitSet selected) throws InvalidTasksException {
+    final int size = tasks.size();
+    final int[] graphIds = new int[size];
+    final Task[] graphTasks = new Task[selected != null ? selected.cardinality() : size];
+    int count = 0;
+    for (int position = 0; position < size; position++) {
+      if (selected == null || selected.get(position)) {
+        graphIds[position] = count;
+        graphTasks[count++] = tasks.get(position);
+      } else {
+        graphIds[position] = UNDEFINED;
+      }
+    }
+
+    final int[] offsets = new int[count + 1];
+    final int[] inDegree = new int[count];
+    for (int edge = 0; edge < edges; edge++) {
+      final int target = graphIds[edgeTargets[edge]];
+      if (target != UNDEFINED) {
+        offsets[graphIds[source(edge)] + 1]++;
+        inDegree[target]++;
+      }
+    }
+
+    for (int id = 0; id < count; id++) {
+      offsets[id + 1] += offsets[id];
+    }
+    final int[] targets = new int[offsets[count]];
+    final int[] cursor = new int[count];
+    for (int edge = 0; edge < edges; edge++) {
+      final int target = graphIds[edgeTargets[edge]];
+      if (target != UNDEFINED) {
+        final int source = graphIds[positions[edgeSources[edge]]];
+        targets[offsets[source] + cursor[source]++] = target;
+      }
+    }
+    return new IndexedTasksGraph(graphTasks, offsets, targets, inDegree);
+  }
+
+  private int source(final int edge) throws InvalidTasksException {
+    final int source = positions[edgeSources[edge]];
+    if (source == UNDEFINED) {
+      throw new InvalidTasksException(String.format(
+          "Some of the prerequisites of task %s does not exist.",
+          tasks.get(edgeTargets[edge]).name()));
+    }
+    return source;
+  }
+
+  private int intern(final String name) {
+    final Integer existing = ids.get(name);
+    if (existing != null) {
+      return existing;
+    }
+    final int id = ids.size();
+    ids.put(name, id);
+    if (id == positions.length) {
+      positions = Arrays.copyOf(positions, id * 2);
+      lastRequiredBy = Arrays.copyOf(lastRequiredBy, id * 2);
+    }
+    positions[id] = UNDEFINED;
+    lastRequiredBy[id] = UNDEFINED;
+    return id;
+  }
+}
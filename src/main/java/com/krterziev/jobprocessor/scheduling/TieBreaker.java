@@ -0,0 +1,38 @@
+package com.krterziev.jobprocessor.scheduling;
+
+/**
+ * Decides which of several ready tasks is emitted first.
+ */
+public enum TieBreaker {
+  /**
+   * Breadth-first by dependency level. Within a level tasks are in discovery order, the order in
+   * which their last prerequisite was emitted, with the first level in input order. Graphs sorted
+   * by {@link ParallelTasksSorter} may order a level differently.
+   */
+  LEVEL,
+  /**
+   * The ready task that was submitted first.
+   */
+  INPUT_ORDER,
+  /**
+   * The ready task with the lexicographically smallest name, independent of input order.
+   */
+  NAME,
+  /**
+   * The ready task with the highest {@code priority} (absent counts as 0), then input order.
+   */
+  PRIORITY,
+  /**
+   * The ready task with the most dependents, so that as many tasks as possible become ready,
+   * then input order.
+   */
+  FAN_OUT;
+
+  /**
+   * Whether submitting the same tasks in another order can change the order this tie-breaker
+   * produces.
+   */
+  public boolean dependsOnInputOrder() {
+    return this != NAME;
+  }
+}
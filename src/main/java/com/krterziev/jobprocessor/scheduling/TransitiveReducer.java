@@ -0,0 +1,134 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph.LevelOrder;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Strips the edges of an {@link IndexedTasksGraph} that are implied by a longer path, such as A
+ * requiring C when A already requires B and B requires C. The edge from a task to a dependent is
+ * redundant exactly when the dependent is reachable through another dependent, so the set of tasks
+ * reachable from every task is computed as a bitset, from the last dependency level backward.
+ *
+ * <p>The bitsets of all tasks take {@code size^2} bits, so the columns are processed in blocks
+ * that keep them within {@link #MAX_REACHABILITY_WORDS}; each block is one more linear pass. Tasks
+ * of a level only read the bitsets of later levels, so graphs above the threshold compute wide
+ * levels in parallel.
+ */
+public class TransitiveReducer {
+
+  static final int MAX_REACHABILITY_WORDS = 1 << 22;
+  private static final int MIN_PARALLEL_LEVEL = 1024;
+
+  private final ForkJoinPool pool;
+  private final int parallelThreshold;
+
+  public TransitiveReducer(final ForkJoinPool pool, final int parallelThreshold) {
+    this.pool = pool;
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  public TransitiveReduction reduce(final IndexedTasksGraph graph)
+      throws CircularDependencyDetectedException {
+    final LevelOrder levelOrder = graph.levelOrder();
+    final int size = graph.size();
+    final boolean[] redundant = new boolean[graph.edgeCount()];
+    final int words = (size + Long.SIZE - 1) / Long.SIZE;
+    final int blockWords = Math.max(1, Math.min(words, MAX_REACHABILITY_WORDS / Math.max(1, size)));
+    final long[] reachable = new long[size * blockWords];
+    final boolean parallel = size >= parallelThreshold && pool.getParallelism() > 1;
+    for (int firstWord = 0; firstWord < words; firstWord += blockWords) {
+      final Block block = new Block(graph, reachable, blockWords, firstWord * Long.SIZE,
+          redundant);
+      if (parallel) {
+        pool.submit(() -> block.run(levelOrder, true)).join();
+      } else {
+        block.run(levelOrder, false);
+      }
+    }
+    return reduced(graph, redundant);
+  }
+
+  private static TransitiveReduction reduced(final IndexedTasksGraph graph,
+      final boolean[] redundant) {
+    final int size = graph.size();
+    final int[] offsets = graph.offsets();
+    final int[] targets = graph.targets();
+    final Task[] tasks = new Task[size];
+    final int[] reducedOffsets = new int[size + 1];
+    final int[] reducedTargets = new int[targets.length];
+    final int[] inDegree = new int[size];
+    int edges = 0;
+    for (int id = 0; id < size; id++) {
+      tasks[id] = graph.task(id);
+      for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+        if (!redundant[edge]) {
+          reducedTargets[edges++] = targets[edge];
+          inDegree[targets[edge]]++;
+        }
+      }
+      reducedOffsets[id + 1] = edges;
+    }
+    final IndexedTasksGraph reduced = new IndexedTasksGraph(tasks, reducedOffsets,
+        Arrays.copyOf(reducedTargets, edges), inDegree);
+    return new TransitiveReduction(reduced, targets.length - edges);
+  }
+
+  /**
+   * Reachability restricted to the columns {@code [firstColumn, firstColumn + 64 * words)}. Bit
+   * {@code column} of a task's bitset is set when the task with id {@code firstColumn + column} is
+   * reachable from it through at least one edge.
+   */
+  private record Block(IndexedTasksGraph graph, long[] reachable, int words, int firstColumn,
+                       boolean[] redundant) {
+
+    void run(final LevelOrder levelOrder, final boolean parallel) {
+      final int[] order = levelOrder.order();
+      final int[] levelOffsets = levelOrder.levelOffsets();
+      for (int level = levelOffsets.length - 2; level >= 0; level--) {
+        final int start = levelOffsets[level];
+        final int end = levelOffsets[level + 1];
+        if (parallel && end - start >= MIN_PARALLEL_LEVEL) {
+          IntStream.range(start, end).parallel().forEach(index -> reduce(order[index]));
+        } else {
+          for (int index = start; index < end; index++) {
+            reduce(order[index]);
+          }
+        }
+      }
+    }
+
+    /**
+     * Collects everything reachable through the dependents of {@code id} first: a dependent found
+     * in there is also reachable through a longer path, so its edge is redundant.
+     */
+    private void reduce(final int id) {
+      final int[] offsets = graph.offsets();
+      final int[] targets = graph.targets();
+      final int base = id * words;
+      Arrays.fill(reachable, base, base + words, 0L);
+      for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+        final int dependentBase = targets[edge] * words;
+        for (int word = 0; word < words; word++) {
+          reachable[base + word] |= reachable[dependentBase + word];
+        }
+      }
+      for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+        final int column = targets[edge] - firstColumn;
+        if (column >= 0 && column < words * Long.SIZE
+            && (reachable[base + column / Long.SIZE] & 1L << column) != 0) {
+          redundant[edge] = true;
+        }
+      }
+      for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+        final int column = targets[edge] - firstColumn;
+        if (column >= 0 && column < words * Long.SIZE) {
+          reachable[base + column / Long.SIZE] |= 1L << column;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,9 @@
+package com.krterziev.jobprocessor.scheduling;
+
+/**
+ * The graph left after every edge implied by a longer path has been removed. It orders the tasks
+ * exactly like the original graph.
+ */
+public record TransitiveReduction(IndexedTasksGraph graph, int removedEdges) {
+
+}
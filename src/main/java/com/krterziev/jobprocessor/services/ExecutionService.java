@@ -0,0 +1,18 @@
+package com.krterziev.jobprocessor.services;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.execution.ExecutionResult;
+import com.krterziev.jobprocessor.execution.FailurePolicy;
+import com.krterziev.jobprocessor.execution.TaskExecutionListener;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+
+public interface ExecutionService {
+  ExecutionResult executeTasks(IndexedTasksGraph tasksGraph, Integer concurrency,
+      FailurePolicy failurePolicy)
+      throws InvalidTasksException, CircularDependencyDetectedException, InterruptedException;
+
+  ExecutionResult executeTasks(IndexedTasksGraph tasksGraph, Integer concurrency,
+      FailurePolicy failurePolicy, TaskExecutionListener listener)
+      throws InvalidTasksException, CircularDependencyDetectedException, InterruptedException;
+}
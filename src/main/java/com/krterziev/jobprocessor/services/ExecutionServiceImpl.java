@@ -0,0 +1,46 @@
+package com.krterziev.jobprocessor.services;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.execution.ExecutionResult;
+import com.krterziev.jobprocessor.execution.FailurePolicy;
+import com.krterziev.jobprocessor.execution.TaskExecutionListener;
+import com.krterziev.jobprocessor.execution.TasksExecutor;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ExecutionServiceImpl implements ExecutionService {
+
+  private final int maxConcurrency;
+  private final Duration taskTimeout;
+
+  public ExecutionServiceImpl(
+      @Value("${tasks.execution.max-concurrency:0}") final int maxConcurrency,
+      @Value("${tasks.execution.task-timeout:1h}") final Duration taskTimeout) {
+    this.maxConcurrency = maxConcurrency > 0
+        ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+    this.taskTimeout = taskTimeout;
+  }
+
+  @Override
+  public ExecutionResult executeTasks(final IndexedTasksGraph tasksGraph,
+      final Integer concurrency, final FailurePolicy failurePolicy)
+      throws InvalidTasksException, CircularDependencyDetectedException, InterruptedException {
+    return executeTasks(tasksGraph, concurrency, failurePolicy, TaskExecutionListener.NONE);
+  }
+
+  @Override
+  public ExecutionResult executeTasks(final IndexedTasksGraph tasksGraph,
+      final Integer concurrency, final FailurePolicy failurePolicy,
+      final TaskExecutionListener listener)
+      throws InvalidTasksException, CircularDependencyDetectedException, InterruptedException {
+    final int effectiveConcurrency = concurrency != null
+        ? Math.min(concurrency, maxConcurrency) : maxConcurrency;
+    final TasksExecutor executor = new TasksExecutor(tasksGraph, effectiveConcurrency,
+        failurePolicy, taskTimeout, listener);
+    return executor.execute();
+  }
+}
@@ -0,0 +1,22 @@
+package com.krterziev.jobprocessor.services;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.GraphNotFoundException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.exceptions.TooManyGraphsException;
+import com.krterziev.jobprocessor.graphs.GraphSession;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import java.util.List;
+
+public interface GraphService {
+  GraphSession createGraph(IndexedTasksGraph tasksGraph)
+      throws CircularDependencyDetectedException, InvalidTasksException, TooManyGraphsException;
+
+  GraphSession updateGraph(String id, List<Task> upserts, List<String> removals)
+      throws GraphNotFoundException, CircularDependencyDetectedException, InvalidTasksException;
+
+  List<Task> sortGraph(String id) throws GraphNotFoundException;
+
+  void deleteGraph(String id) throws GraphNotFoundException;
+}
@@ -0,0 +1,54 @@
+package com.krterziev.jobprocessor.services;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.GraphNotFoundException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.exceptions.TooManyGraphsException;
+import com.krterziev.jobprocessor.graphs.GraphRegistry;
+import com.krterziev.jobprocessor.graphs.GraphSession;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.scheduling.DynamicTasksGraph;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+@Service
+public class GraphServiceImpl implements GraphService {
+
+  private final GraphRegistry graphRegistry;
+
+  public GraphServiceImpl(final GraphRegistry graphRegistry) {
+    this.graphRegistry = graphRegistry;
+  }
+
+  @Override
+  public GraphSession createGraph(final IndexedTasksGraph tasksGraph)
+      throws CircularDependencyDetectedException, InvalidTasksException, TooManyGraphsException {
+    return graphRegistry.register(DynamicTasksGraph.of(tasksGraph));
+  }
+
+  @Override
+  public GraphSession updateGraph(final String id, final List<Task> upserts,
+      final List<String> removals)
+      throws GraphNotFoundException, CircularDependencyDetectedException, InvalidTasksException {
+    final GraphSession session = findGraph(id);
+    session.apply(upserts, removals);
+    return session;
+  }
+
+  @Override
+  public List<Task> sortGraph(final String id) throws GraphNotFoundException {
+    return findGraph(id).sort();
+  }
+
+  @Override
+  public void deleteGraph(final String id) throws GraphNotFoundException {
+    if (!graphRegistry.remove(id)) {
+      throw new GraphNotFoundException(id);
+    }
+  }
+
+  private GraphSession findGraph(final String id) throws GraphNotFoundException {
+    return graphRegistry.find(id).orElseThrow(() -> new GraphNotFoundException(id));
+  }
+}
@@ -0,0 +1,22 @@
+package com.krterziev.jobprocessor.services;
+
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.exceptions.JobNotFoundException;
+import com.krterziev.jobprocessor.execution.FailurePolicy;
+import com.krterziev.jobprocessor.jobs.Job;
+import com.krterziev.jobprocessor.jobs.JobType;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import java.util.Set;
+
+public interface JobService {
+  Job submitJob(JobType type, IndexedTasksGraph tasksGraph, Integer concurrency,
+      FailurePolicy failurePolicy);
+
+  Job findJob(String id) throws JobNotFoundException;
+
+  /**
+   * Names of the tasks that an execution job ran successfully.
+   */
+  Set<String> findSucceededTaskNames(String id)
+      throws JobNotFoundException, InvalidTasksException;
+}
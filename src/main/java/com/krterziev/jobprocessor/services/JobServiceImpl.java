@@ -0,0 +1,123 @@
+package com.krterziev.jobprocessor.services;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.exceptions.JobNotFoundException;
+import com.krterziev.jobprocessor.execution.ExecutionResult;
+import com.krterziev.jobprocessor.execution.FailurePolicy;
+import com.krterziev.jobprocessor.execution.TaskExecutionStatus;
+import com.krterziev.jobprocessor.jobs.Job;
+import com.krterziev.jobprocessor.jobs.JobRegistry;
+import com.krterziev.jobprocessor.jobs.JobType;
+import com.krterziev.jobprocessor.metrics.SortMetrics;
+import com.krterziev.jobprocessor.payload.response.ExecutionResponse;
+import com.krterziev.jobprocessor.payload.response.TaskExecutionResponse;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.storage.JobStore;
+import com.krterziev.jobprocessor.transformers.ExecutionTransformer;
+import com.krterziev.jobprocessor.transformers.TaskTransformer;
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+@Service
+public class JobServiceImpl implements JobService {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JobServiceImpl.class);
+
+  private final JobRegistry jobRegistry;
+  private final JobStore jobStore;
+  private final TaskService taskService;
+  private final ExecutionService executionService;
+  private final ExecutorService jobExecutor;
+  private final SortMetrics metrics;
+
+  public JobServiceImpl(final JobRegistry jobRegistry, final JobStore jobStore,
+      final TaskService taskService, final ExecutionService executionService,
+      @Value("${jobs.executor.threads:0}") final int threads,
+      @Value("${jobs.executor.queue-capacity:1000}") final int queueCapacity,
+      final SortMetrics metrics) {
+    this.jobRegistry = jobRegistry;
+    this.jobStore = jobStore;
+    this.metrics = metrics;
+    this.taskService = taskService;
+    this.executionService = executionService;
+    final int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    this.jobExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity));
+  }
+
+  @Override
+  public Job submitJob(final JobType type, final IndexedTasksGraph tasksGraph,
+      final Integer concurrency, final FailurePolicy failurePolicy) {
+    final Job job = jobRegistry.register(type);
+    jobStore.save(job);
+    job.addListener(jobStore);
+    try {
+      jobExecutor.execute(() -> run(job, tasksGraph, concurrency, failurePolicy));
+    } catch (final RuntimeException e) {
+      job.fail(e.getMessage());
+      throw e;
+    }
+    return job;
+  }
+
+  @Override
+  public Job findJob(final String id) throws JobNotFoundException {
+    return jobRegistry.find(id)
+        .or(() -> jobStore.find(id))
+        .orElseThrow(() -> new JobNotFoundException(id));
+  }
+
+  @Override
+  public Set<String> findSucceededTaskNames(final String id)
+      throws JobNotFoundException, InvalidTasksException {
+    if (!(findJob(id).result() instanceof final ExecutionResponse execution)) {
+      throw new InvalidTasksException(
+          String.format("Job %s has no task execution results.", id));
+    }
+    return execution.tasks().stream()
+        .filter(task -> TaskExecutionStatus.SUCCEEDED.name().equals(task.status()))
+        .map(TaskExecutionResponse::name)
+        .collect(Collectors.toSet());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    jobExecutor.shutdownNow();
+  }
+
+  private void run(final Job job, final IndexedTasksGraph tasksGraph, final Integer concurrency,
+      final FailurePolicy failurePolicy) {
+    job.start();
+    try {
+      if (job.type() == JobType.EXECUTE) {
+        final ExecutionResult executionResult = executionService.executeTasks(tasksGraph,
+            concurrency, failurePolicy,
+            result -> job.progress(ExecutionTransformer.transform(result)));
+        job.succeed(ExecutionTransformer.transform(executionResult));
+      } else {
+        job.succeed(TaskTransformer.transform(taskService.sortTasks(tasksGraph, null)));
+      }
+    } catch (final CircularDependencyDetectedException e) {
+      metrics.cycleDetected();
+      job.fail(e.getMessage());
+    } catch (final InvalidTasksException e) {
+      job.fail(e.getMessage());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      job.fail("Job was interrupted");
+    } catch (final RuntimeException e) {
+      LOG.error("Job {} failed", job.id(), e);
+      job.fail(e.getMessage());
+    }
+  }
+}
@@ -1,9 +1,71 @@
 package com.krterziev.jobprocessor.services;
 
+import com.krterziev.jobprocessor.caching.CacheStats;
 import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.SortResult;
 import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.scheduling.CriticalPathAnalysis;
+import com.krterziev.jobprocessor.scheduling.GraphAnalysis;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.scheduling.TaskSchedule;
+import com.krterziev.jobprocessor.scheduling.TieBreaker;
+import com.krterziev.jobprocessor.scheduling.TransitiveReduction;
+import java.util.Collection;
 import java.util.List;
 
 public interface TaskService {
-  List<Task> sortTasks(List<Task> tasks) throws CircularDependencyDetectedException;
+  /**
+   * Key of the result of sorting {@code tasksGraph} with {@code tieBreaker}, or with the
+   * configured default tie-breaker when it is null.
+   */
+  String fingerprint(IndexedTasksGraph tasksGraph, TieBreaker tieBreaker);
+
+  /**
+   * Sorts with {@code tieBreaker}, reusing the result cached under {@code fingerprint}, which must
+   * be the {@link #fingerprint} of the same graph and tie-breaker.
+   */
+  List<Task> sortTasksCached(String fingerprint, IndexedTasksGraph tasksGraph,
+      TieBreaker tieBreaker) throws CircularDependencyDetectedException;
+
+  CacheStats cacheStats();
+
+  List<Task> sortTasks(IndexedTasksGraph tasksGraph, TieBreaker tieBreaker)
+      throws CircularDependencyDetectedException;
+
+  int[] sortTaskIndices(IndexedTasksGraph tasksGraph, TieBreaker tieBreaker)
+      throws CircularDependencyDetectedException;
+
+  /**
+   * Sorts only the tasks that still have to run after {@code completedTaskNames} have completed.
+   */
+  List<Task> resumeTasks(IndexedTasksGraph tasksGraph, Collection<String> completedTaskNames,
+      TieBreaker tieBreaker) throws InvalidTasksException, CircularDependencyDetectedException;
+
+  /**
+   * Builds and sorts every request of a batch concurrently. A job that is invalid or has a cycle
+   * yields a failed {@link SortResult} instead of failing the batch.
+   */
+  List<SortResult> sortTasksBatch(List<TasksRequest> tasksRequests, TieBreaker tieBreaker)
+      throws InterruptedException;
+
+  List<List<Task>> levelTasks(IndexedTasksGraph tasksGraph) throws CircularDependencyDetectedException;
+
+  GraphAnalysis analyzeGraph(IndexedTasksGraph tasksGraph)
+      throws CircularDependencyDetectedException;
+
+  CriticalPathAnalysis analyzeCriticalPath(IndexedTasksGraph tasksGraph)
+      throws CircularDependencyDetectedException;
+
+  /**
+   * Removes every prerequisite that is implied by another one, reporting how many were removed.
+   * The work grows with the square of the task count, so larger graphs than {@code
+   * tasks.reduce.max-tasks} are rejected.
+   */
+  TransitiveReduction reduceTasks(IndexedTasksGraph tasksGraph)
+      throws InvalidTasksException, CircularDependencyDetectedException;
+
+  TaskSchedule scheduleTasks(IndexedTasksGraph tasksGraph, int workers)
+      throws CircularDependencyDetectedException;
 }
@@ -1,17 +1,272 @@
 package com.krterziev.jobprocessor.services;
 
+import com.krterziev.jobprocessor.caching.CacheStats;
+import com.krterziev.jobprocessor.caching.SortResultCache;
+import com.krterziev.jobprocessor.caching.TasksFingerprint;
 import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.metrics.SortMetrics;
+import com.krterziev.jobprocessor.metrics.SortPhase;
+import com.krterziev.jobprocessor.models.SortResult;
 import com.krterziev.jobprocessor.models.Task;
-import com.krterziev.jobprocessor.scheduling.TasksGraph;
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.scheduling.CriticalPathAnalysis;
+import com.krterziev.jobprocessor.scheduling.CriticalPathAnalyzer;
+import com.krterziev.jobprocessor.scheduling.GraphAnalysis;
+import com.krterziev.jobprocessor.scheduling.GraphAnalyzer;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph.LevelOrder;
+import com.krterziev.jobprocessor.scheduling.ParallelTasksSorter;
+import com.krterziev.jobprocessor.scheduling.TaskSchedule;
+import com.krterziev.jobprocessor.scheduling.TieBreaker;
+import com.krterziev.jobprocessor.scheduling.TransitiveReducer;
+import com.krterziev.jobprocessor.scheduling.TransitiveReduction;
+import com.krterziev.jobprocessor.transformers.TaskTransformer;
+import jakarta.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 public class TaskServiceImpl implements TaskService{
 
+  private static final Logger LOG = LoggerFactory.getLogger(TaskServiceImpl.class);
+
+  private final TieBreaker defaultTieBreaker;
+  private final SortResultCache sortResultCache;
+  private final ForkJoinPool sortPool;
+  private final ParallelTasksSorter parallelSorter;
+  private final TransitiveReducer transitiveReducer;
+  private final int maxReducedTasks;
+  private final ThreadPoolExecutor batchExecutor;
+  private final SortMetrics metrics;
+
+  public TaskServiceImpl(
+      @Value("${tasks.sort.tie-breaker:level}") final TieBreaker defaultTieBreaker,
+      final SortResultCache sortResultCache,
+      @Value("${tasks.sort.parallel-threshold:100000}") final int parallelThreshold,
+      @Value("${tasks.sort.parallelism:0}") final int parallelism,
+      @Value("${tasks.batch.threads:0}") final int batchThreads,
+      @Value("${tasks.batch.queue-capacity:1000}") final int batchQueueCapacity,
+      @Value("${tasks.reduce.max-tasks:100000}") final int maxReducedTasks,
+      final SortMetrics metrics) {
+    this.defaultTieBreaker = defaultTieBreaker;
+    this.sortResultCache = sortResultCache;
+    this.metrics = metrics;
+    this.sortPool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+    this.parallelSorter = new ParallelTasksSorter(sortPool, parallelThreshold);
+    this.transitiveReducer = new TransitiveReducer(sortPool, parallelThreshold);
+    this.maxReducedTasks = maxReducedTasks;
+    final int batchPoolSize = batchThreads > 0
+        ? batchThreads : Runtime.getRuntime().availableProcessors();
+    this.batchExecutor = new ThreadPoolExecutor(batchPoolSize, batchPoolSize, 0L,
+        TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(batchQueueCapacity));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (sortPool != ForkJoinPool.commonPool()) {
+      sortPool.shutdownNow();
+    }
+    batchExecutor.shutdownNow();
+  }
+
+  @Override
+  public String fingerprint(final IndexedTasksGraph tasksGraph, final TieBreaker tieBreaker) {
+    return TasksFingerprint.of(tasksGraph, resolve(tieBreaker));
+  }
+
+  @Override
+  public List<Task> sortTasksCached(final String fingerprint, final IndexedTasksGraph tasksGraph,
+      final TieBreaker tieBreaker) throws CircularDependencyDetectedException {
+    List<Task> sortedTasks = sortResultCache.get(fingerprint);
+    if (sortedTasks == null) {
+      sortedTasks = tasksGraph.tasks(sortIndices(tasksGraph, resolve(tieBreaker)));
+      sortResultCache.put(fingerprint, sortedTasks);
+    }
+    return sortedTasks;
+  }
+
+  @Override
+  public CacheStats cacheStats() {
+    return sortResultCache.stats();
+  }
+
+  @Override
+  public List<Task> sortTasks(final IndexedTasksGraph tasksGraph, final TieBreaker tieBreaker)
+      throws CircularDependencyDetectedException {
+    return tasksGraph.tasks(sortIndices(tasksGraph, resolve(tieBreaker)));
+  }
+
+  @Override
+  public int[] sortTaskIndices(final IndexedTasksGraph tasksGraph, final TieBreaker tieBreaker)
+      throws CircularDependencyDetectedException {
+    return sortIndices(tasksGraph, resolve(tieBreaker));
+  }
+
+  @Override
+  public List<Task> resumeTasks(final IndexedTasksGraph tasksGraph,
+      final Collection<String> completedTaskNames, final TieBreaker tieBreaker)
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final Map<String, Integer> ids = new HashMap<>((int) (tasksGraph.size() / 0.75f) + 1);
+    for (int id = 0; id < tasksGraph.size(); id++) {
+      ids.put(tasksGraph.task(id).name(), id);
+    }
+    final BitSet completed = new BitSet(tasksGraph.size());
+    for (final String taskName : completedTaskNames) {
+      final Integer id = ids.get(taskName);
+      if (id == null) {
+        throw new InvalidTasksException(
+            String.format("Completed task %s does not exist.", taskName));
+      }
+      completed.set(id);
+    }
+    final IndexedTasksGraph pendingGraph = tasksGraph.subgraph(tasksGraph.pending(completed));
+    return pendingGraph.tasks(sortIndices(pendingGraph, resolve(tieBreaker)));
+  }
+
+  /**
+   * Jobs are not submitted one by one: up to one worker per pool thread pulls the next job index
+   * from a shared counter, and the calling thread works along, so a batch costs a handful of
+   * hand-offs however many jobs it holds. The caller waits for the jobs rather than for the
+   * workers, so a worker still queued behind another batch never delays it, and when the queue is
+   * full the calling thread simply sorts more jobs itself.
+   */
+  @Override
+  public List<SortResult> sortTasksBatch(final List<TasksRequest> tasksRequests,
+      final TieBreaker tieBreaker) throws InterruptedException {
+    final TieBreaker resolvedTieBreaker = resolve(tieBreaker);
+    final SortResult[] results = new SortResult[tasksRequests.size()];
+    final AtomicInteger nextJob = new AtomicInteger();
+    final CountDownLatch pendingJobs = new CountDownLatch(results.length);
+    final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+    final Runnable worker = () -> {
+      int job;
+      while ((job = nextJob.getAndIncrement()) < results.length) {
+        try {
+          results[job] = sortJob(tasksRequests.get(job), resolvedTieBreaker);
+        } catch (final RuntimeException e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          pendingJobs.countDown();
+        }
+      }
+    };
+
+    final int helpers = Math.min(batchExecutor.getMaximumPoolSize(), results.length) - 1;
+    try {
+      for (int helper = 0; helper < helpers; helper++) {
+        batchExecutor.execute(worker);
+      }
+    } catch (final RejectedExecutionException e) {
+      LOG.debug("Batch executor is saturated, sorting on the calling thread");
+    }
+    worker.run();
+    pendingJobs.await();
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+    return Arrays.asList(results);
+  }
+
+  private SortResult sortJob(final TasksRequest tasksRequest, final TieBreaker tieBreaker) {
+    if (tasksRequest == null) {
+      metrics.validationFailed("invalid_tasks");
+      return SortResult.failed(new InvalidTasksException("The job is null."));
+    }
+    try {
+      final IndexedTasksGraph tasksGraph = metrics.record(SortPhase.BUILD,
+          () -> TaskTransformer.transformToGraph(tasksRequest));
+      return SortResult.sorted(tasksGraph.tasks(sortIndices(tasksGraph, tieBreaker)));
+    } catch (final InvalidTasksException e) {
+      metrics.validationFailed("invalid_tasks");
+      return SortResult.failed(e);
+    } catch (final CircularDependencyDetectedException e) {
+      metrics.cycleDetected();
+      return SortResult.failed(e);
+    }
+  }
+
+  @Override
+  public List<List<Task>> levelTasks(final IndexedTasksGraph tasksGraph)
+      throws CircularDependencyDetectedException {
+    metrics.recordGraph(tasksGraph);
+    final List<List<Task>> levels = metrics.record(SortPhase.SORT, tasksGraph::levels);
+    metrics.recordDepth(levels.size());
+    return levels;
+  }
+
   @Override
-  public List<Task> sortTasks(final List<Task> tasks) throws CircularDependencyDetectedException {
-    final TasksGraph tasksGraph = new TasksGraph(tasks);
-    return tasksGraph.sort();
+  public GraphAnalysis analyzeGraph(final IndexedTasksGraph tasksGraph)
+      throws CircularDependencyDetectedException {
+    metrics.recordGraph(tasksGraph);
+    final GraphAnalysis analysis = metrics.record(SortPhase.ANALYZE,
+        () -> GraphAnalyzer.analyze(tasksGraph));
+    metrics.recordDepth(analysis.longestPath());
+    return analysis;
+  }
+
+  @Override
+  public CriticalPathAnalysis analyzeCriticalPath(final IndexedTasksGraph tasksGraph)
+      throws CircularDependencyDetectedException {
+    return new CriticalPathAnalyzer(tasksGraph).analyze();
+  }
+
+  @Override
+  public TransitiveReduction reduceTasks(final IndexedTasksGraph tasksGraph)
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    if (tasksGraph.size() > maxReducedTasks) {
+      throw new InvalidTasksException(String.format(
+          "The graph has %d tasks, but at most %d can be reduced.", tasksGraph.size(),
+          maxReducedTasks));
+    }
+    metrics.recordGraph(tasksGraph);
+    return metrics.record(SortPhase.REDUCE, () -> transitiveReducer.reduce(tasksGraph));
+  }
+
+  @Override
+  public TaskSchedule scheduleTasks(final IndexedTasksGraph tasksGraph, final int workers)
+      throws CircularDependencyDetectedException {
+    return new CriticalPathAnalyzer(tasksGraph).schedule(workers);
+  }
+
+  private TieBreaker resolve(final TieBreaker tieBreaker) {
+    return tieBreaker != null ? tieBreaker : defaultTieBreaker;
+  }
+
+  /**
+   * Sorts with the sequential level order when the graph is small enough, which also yields its
+   * depth for free, and with the parallel sorter otherwise. Any other tie-breaker needs the
+   * sequential priority sort to keep its order.
+   */
+  private int[] sortIndices(final IndexedTasksGraph tasksGraph, final TieBreaker tieBreaker)
+      throws CircularDependencyDetectedException {
+    metrics.recordGraph(tasksGraph);
+    return metrics.record(SortPhase.SORT, () -> {
+      if (tieBreaker != TieBreaker.LEVEL) {
+        return tasksGraph.sortIndices(tieBreaker);
+      }
+      if (parallelSorter.isParallel(tasksGraph)) {
+        return parallelSorter.sortIndices(tasksGraph);
+      }
+      final LevelOrder levelOrder = tasksGraph.levelOrder();
+      metrics.recordDepth(levelOrder.levelOffsets().length - 1);
+      return levelOrder.order();
+    });
   }
 }
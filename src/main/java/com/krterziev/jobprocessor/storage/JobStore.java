@@ -0,0 +1,144 @@
+package com.krterziev.jobprocessor.storage;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krterziev.jobprocessor.jobs.Job;
+import com.krterziev.jobprocessor.jobs.JobListener;
+import com.krterziev.jobprocessor.jobs.JobStatus;
+import com.krterziev.jobprocessor.jobs.JobType;
+import com.krterziev.jobprocessor.payload.response.ExecutionResponse;
+import com.krterziev.jobprocessor.payload.response.TaskResponse;
+import jakarta.annotation.PreDestroy;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Persists a snapshot of every job when it is submitted and again when it finishes, so that jobs
+ * outlive both the in-memory registry and restarts. Snapshots are appended to a {@link
+ * SegmentLog}; superseded snapshots are compacted away in the background.
+ */
+@Component
+public class JobStore implements JobListener, Closeable {
+
+  static final String INTERRUPTED_ERROR = "Job was interrupted by a restart";
+  private static final double COMPACTION_LIVE_RATIO = 0.5;
+  private static final Logger LOG = LoggerFactory.getLogger(JobStore.class);
+
+  private final ObjectMapper objectMapper;
+  private final SegmentLog log;
+  private final ScheduledExecutorService compactor;
+
+  public JobStore(final ObjectMapper objectMapper,
+      @Value("${jobs.store.enabled:false}") final boolean enabled,
+      @Value("${jobs.store.directory:data/jobs}") final String directory,
+      @Value("${jobs.store.segment-size:64MB}") final DataSize segmentSize,
+      @Value("${jobs.store.compaction-interval:10m}") final Duration compactionInterval)
+      throws IOException {
+    this.objectMapper = objectMapper;
+    if (!enabled) {
+      this.log = null;
+      this.compactor = null;
+      return;
+    }
+    this.log = new SegmentLog(Path.of(directory), Math.toIntExact(segmentSize.toBytes()));
+    this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      final Thread thread = new Thread(runnable, "job-store-compactor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    compactor.scheduleWithFixedDelay(this::compact, compactionInterval.toMillis(),
+        compactionInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  public void save(final Job job) {
+    if (log == null) {
+      return;
+    }
+    try {
+      log.append(job.id(), objectMapper.writeValueAsBytes(new StoredJob(job.id(), job.type(),
+          job.status(), job.submittedAt(), job.completedAt(), job.result(), job.error())));
+    } catch (final IOException e) {
+      LOG.warn("Could not store job {}: {}", job.id(), e.getMessage());
+    }
+  }
+
+  /**
+   * Reads the latest snapshot of a job. A job that had not finished when it was stored can only
+   * come from an earlier run of the service, so it is returned as failed.
+   */
+  public Optional<Job> find(final String id) {
+    if (log == null) {
+      return Optional.empty();
+    }
+    return log.read(id).map(this::restore);
+  }
+
+  @Override
+  public void onProgress(final Job job, final Object event) {
+  }
+
+  @Override
+  public void onCompleted(final Job job) {
+    save(job);
+  }
+
+  void compact() {
+    try {
+      log.compact(COMPACTION_LIVE_RATIO);
+    } catch (final IOException e) {
+      LOG.warn("Could not compact the job store: {}", e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  @Override
+  public void close() throws IOException {
+    if (log != null) {
+      compactor.shutdownNow();
+      log.close();
+    }
+  }
+
+  private Job restore(final byte[] value) {
+    final StoredJob stored;
+    try {
+      stored = objectMapper.readValue(value, StoredJob.class);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (!stored.status().isTerminal()) {
+      return Job.restore(stored.id(), stored.type(), stored.submittedAt(), JobStatus.FAILED,
+          Instant.now(), null, INTERRUPTED_ERROR);
+    }
+    return Job.restore(stored.id(), stored.type(), stored.submittedAt(), stored.status(),
+        stored.completedAt(), restoreResult(stored.type(), stored.result()), stored.error());
+  }
+
+  /**
+   * Binds a stored result to the type the job produced, so restored jobs look like live ones.
+   */
+  private Object restoreResult(final JobType type, final Object result) {
+    if (result == null) {
+      return null;
+    }
+    return switch (type) {
+      case SORT -> objectMapper.convertValue(result, new TypeReference<List<TaskResponse>>() {
+      });
+      case EXECUTE -> objectMapper.convertValue(result, ExecutionResponse.class);
+    };
+  }
+}
@@ -0,0 +1,302 @@
+package com.krterziev.jobprocessor.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of keyed records spread over memory-mapped segment files. Only the newest
+ * segment is written to; an in-memory index points every key at its latest record, so a read
+ * copies exactly that record out of its segment and nothing else is decoded.
+ *
+ * <p>A record is laid out as length (int, of everything after the checksum), CRC32 (int), key
+ * length (short), UTF-8 key and value. The length is written last, so a record torn by a crash
+ * reads as either a zero length or a checksum mismatch and recovery stops right before it.
+ */
+public class SegmentLog implements Closeable {
+
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final int HEADER_BYTES = 2 * Integer.BYTES;
+  private static final int CLEAR_CHUNK_BYTES = 4096;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+  private final Map<String, Long> index = new HashMap<>();
+  private Segment active;
+
+  /**
+   * Opens the log in {@code directory}, replaying every segment in order to rebuild the index.
+   */
+  public SegmentLog(final Path directory, final int segmentSize) throws IOException {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    Files.createDirectories(directory);
+    try (final Stream<Path> files = Files.list(directory)) {
+      for (final Path file : files.filter(SegmentLog::isSegment).toList()) {
+        final Segment segment = Segment.open(segmentId(file), file);
+        segments.put(segment.id, segment);
+      }
+    }
+    for (final Segment segment : segments.values()) {
+      recover(segment);
+    }
+    active = segments.isEmpty() ? createSegment(1, segmentSize) : segments.lastEntry().getValue();
+    clearTail(active);
+  }
+
+  public synchronized void append(final String key, final byte[] value) throws IOException {
+    final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    if (keyBytes.length > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("Key is too long: " + key);
+    }
+    final int length = Short.BYTES + keyBytes.length + value.length;
+    if (active.remaining() < HEADER_BYTES + length) {
+      active = createSegment(active.id + 1, Math.max(segmentSize, HEADER_BYTES + length));
+    }
+    write(key, keyBytes, value);
+  }
+
+  public synchronized Optional<byte[]> read(final String key) {
+    final Long location = index.get(key);
+    if (location == null) {
+      return Optional.empty();
+    }
+    final Segment segment = segments.get(segmentOf(location));
+    final int offset = offsetOf(location);
+    final ByteBuffer buffer = segment.buffer;
+    final int keyLength = buffer.getShort(offset + HEADER_BYTES);
+    final int valueOffset = offset + HEADER_BYTES + Short.BYTES + keyLength;
+    final byte[] value = new byte[offset + HEADER_BYTES + buffer.getInt(offset) - valueOffset];
+    buffer.get(valueOffset, value);
+    return Optional.of(value);
+  }
+
+  public synchronized int size() {
+    return index.size();
+  }
+
+  public synchronized int segmentCount() {
+    return segments.size();
+  }
+
+  /**
+   * Copies the live records of every sealed segment whose live share has dropped below {@code
+   * maxLiveRatio} to the active segment and deletes the segment. The copies are flushed before any
+   * file is deleted, and recovery replays segments in order, so the copies win after a crash.
+   */
+  public synchronized void compact(final double maxLiveRatio) throws IOException {
+    final List<Segment> candidates = new ArrayList<>();
+    for (final Segment segment : segments.values()) {
+      if (segment != active && segment.liveBytes < segment.position * maxLiveRatio) {
+        candidates.add(segment);
+      }
+    }
+    if (candidates.isEmpty()) {
+      return;
+    }
+    for (final Segment segment : candidates) {
+      final ByteBuffer buffer = segment.buffer;
+      int offset = 0;
+      while (offset < segment.position) {
+        final int recordSize = HEADER_BYTES + buffer.getInt(offset);
+        final String key = readKey(buffer, offset);
+        if (index.get(key) == location(segment.id, offset)) {
+          final int keyLength = buffer.getShort(offset + HEADER_BYTES);
+          final int valueOffset = offset + HEADER_BYTES + Short.BYTES + keyLength;
+          final byte[] value = new byte[offset + recordSize - valueOffset];
+          buffer.get(valueOffset, value);
+          append(key, value);
+        }
+        offset += recordSize;
+      }
+    }
+    for (final Segment segment : segments.values()) {
+      segment.buffer.force();
+    }
+    for (final Segment segment : candidates) {
+      segments.remove(segment.id);
+      segment.channel.close();
+      Files.delete(segment.path);
+    }
+  }
+
+  public synchronized void flush() {
+    active.buffer.force();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    for (final Segment segment : segments.values()) {
+      segment.buffer.force();
+      segment.channel.close();
+    }
+  }
+
+  private void write(final String key, final byte[] keyBytes, final byte[] value) {
+    final MappedByteBuffer buffer = active.buffer;
+    final int offset = active.position;
+    final int length = Short.BYTES + keyBytes.length + value.length;
+    buffer.putShort(offset + HEADER_BYTES, (short) keyBytes.length);
+    buffer.put(offset + HEADER_BYTES + Short.BYTES, keyBytes);
+    buffer.put(offset + HEADER_BYTES + Short.BYTES + keyBytes.length, value);
+    buffer.putInt(offset + Integer.BYTES, checksum(buffer, offset, length));
+    buffer.putInt(offset, length);
+
+    active.position += HEADER_BYTES + length;
+    index(key, active, offset, HEADER_BYTES + length);
+  }
+
+  private void recover(final Segment segment) {
+    final MappedByteBuffer buffer = segment.buffer;
+    int offset = 0;
+    while (buffer.capacity() - offset >= HEADER_BYTES) {
+      final int length = buffer.getInt(offset);
+      if (length < Short.BYTES || length > buffer.capacity() - offset - HEADER_BYTES
+          || buffer.getInt(offset + Integer.BYTES) != checksum(buffer, offset, length)) {
+        break;
+      }
+      index(readKey(buffer, offset), segment, offset, HEADER_BYTES + length);
+      offset += HEADER_BYTES + length;
+    }
+    segment.position = offset;
+  }
+
+  /**
+   * Whatever follows the last valid record of the active segment is torn or was never written.
+   * Records are appended back to back, so the torn bytes end where the segment turns to zeros;
+   * only up to there is cleared, so that new records are never followed by stale bytes that pass
+   * as a record while the never-written rest of the segment is left untouched.
+   */
+  private static void clearTail(final Segment segment) {
+    final MappedByteBuffer buffer = segment.buffer;
+    final int capacity = buffer.capacity();
+    final byte[] zeros = new byte[CLEAR_CHUNK_BYTES];
+    int offset = segment.position;
+    while (offset < capacity) {
+      final int chunk = Math.min(CLEAR_CHUNK_BYTES, capacity - offset);
+      if (isZero(buffer, offset, chunk)) {
+        return;
+      }
+      buffer.put(offset, zeros, 0, chunk);
+      offset += chunk;
+    }
+  }
+
+  private static boolean isZero(final ByteBuffer buffer, final int offset, final int length) {
+    int index = offset;
+    for (; index + Long.BYTES <= offset + length; index += Long.BYTES) {
+      if (buffer.getLong(index) != 0L) {
+        return false;
+      }
+    }
+    for (; index < offset + length; index++) {
+      if (buffer.get(index) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void index(final String key, final Segment segment, final int offset,
+      final int recordSize) {
+    final Long previous = index.put(key, location(segment.id, offset));
+    if (previous != null) {
+      final Segment previousSegment = segments.get(segmentOf(previous));
+      previousSegment.liveBytes -= HEADER_BYTES + previousSegment.buffer.getInt(offsetOf(previous));
+    }
+    segment.liveBytes += recordSize;
+  }
+
+  private Segment createSegment(final int id, final int size) throws IOException {
+    final Segment segment = Segment.create(id,
+        directory.resolve(String.format("%s%09d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX)), size);
+    segments.put(id, segment);
+    return segment;
+  }
+
+  private static String readKey(final ByteBuffer buffer, final int offset) {
+    final byte[] key = new byte[buffer.getShort(offset + HEADER_BYTES)];
+    buffer.get(offset + HEADER_BYTES + Short.BYTES, key);
+    return new String(key, StandardCharsets.UTF_8);
+  }
+
+  private static int checksum(final ByteBuffer buffer, final int offset, final int length) {
+    final CRC32 crc = new CRC32();
+    crc.update(buffer.slice(offset + HEADER_BYTES, length));
+    return (int) crc.getValue();
+  }
+
+  private static long location(final int segmentId, final int offset) {
+    return ((long) segmentId << Integer.SIZE) | offset;
+  }
+
+  private static int segmentOf(final long location) {
+    return (int) (location >>> Integer.SIZE);
+  }
+
+  private static int offsetOf(final long location) {
+    return (int) location;
+  }
+
+  private static boolean isSegment(final Path file) {
+    final String name = file.getFileName().toString();
+    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+  }
+
+  private static int segmentId(final Path file) {
+    final String name = file.getFileName().toString();
+    return Integer.parseInt(
+        name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+
+  private static final class Segment {
+
+    private final int id;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int position;
+    private long liveBytes;
+
+    private Segment(final int id, final Path path, final FileChannel channel,
+        final MappedByteBuffer buffer) {
+      this.id = id;
+      this.path = path;
+      this.channel = channel;
+      this.buffer = buffer;
+    }
+
+    static Segment create(final int id, final Path path, final int size) throws IOException {
+      final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+          StandardOpenOption.READ, StandardOpenOption.WRITE);
+      return new Segment(id, path, channel, channel.map(MapMode.READ_WRITE, 0, size));
+    }
+
+    static Segment open(final int id, final Path path) throws IOException {
+      final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+          StandardOpenOption.WRITE);
+      return new Segment(id, path, channel, channel.map(MapMode.READ_WRITE, 0, channel.size()));
+    }
+
+    int remaining() {
+      return buffer.capacity() - position;
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package com.krterziev.jobprocessor.storage;
+
+import com.krterziev.jobprocessor.jobs.JobStatus;
+import com.krterziev.jobprocessor.jobs.JobType;
+import java.time.Instant;
+
+record StoredJob(String id, JobType type, JobStatus status, Instant submittedAt,
+                 Instant completedAt, Object result, String error) {
+
+}
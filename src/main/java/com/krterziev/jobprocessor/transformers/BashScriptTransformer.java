@@ -1,14 +1,24 @@
 package com.krterziev.jobprocessor.transformers;
 
 import com.krterziev.jobprocessor.models.Task;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 public class BashScriptTransformer {
 
   private final static String BASH_COMMENT = "#!/usr/bin/env bash";
+  private final static int BUFFER_SIZE = 8192;
+  private final static int MAX_INTERNED_COMMANDS = 1 << 16;
+  private final static byte[] BASH_HEADER = ascii(BASH_COMMENT + "\n\n");
+  private final static byte[] BASH_COMMENT_LINE = ascii(BASH_COMMENT + "\n");
+  private final static byte[] WAIT = ascii("wait\n");
+  private final static byte[] SUBSHELL_START = ascii("( ");
+  private final static byte[] SUBSHELL_END = ascii("\n) &\n");
 
   private BashScriptTransformer() {
   }
@@ -21,4 +31,55 @@ public class BashScriptTransformer {
     return new ByteArrayInputStream(stringBuilder.toString().getBytes(StandardCharsets.UTF_8));
   }
 
+  /**
+   * Commands are written as UTF-8 bytes from a {@link StringTable}, so a command repeated across
+   * tasks is encoded at most twice, however often it is written.
+   */
+  public static void write(final List<Task> tasks, final OutputStream outputStream)
+      throws IOException {
+    final OutputStream output = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+    final StringTable commands = commandTable(tasks.size());
+    output.write(BASH_HEADER);
+    for (final Task task : tasks) {
+      output.write(commands.utf8(task.command()));
+      output.write('\n');
+    }
+    output.flush();
+  }
+
+  public static void writeLevels(final List<List<Task>> levels, final int maxParallelism,
+      final OutputStream outputStream) throws IOException {
+    final OutputStream output = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+    final StringTable commands = commandTable(levels.stream().mapToInt(List::size).sum());
+    output.write(BASH_COMMENT_LINE);
+    for (final List<Task> level : levels) {
+      output.write('\n');
+      if (level.size() == 1) {
+        output.write(commands.utf8(level.get(0).command()));
+        output.write('\n');
+        continue;
+      }
+      int running = 0;
+      for (final Task task : level) {
+        if (running == maxParallelism) {
+          output.write(WAIT);
+          running = 0;
+        }
+        output.write(SUBSHELL_START);
+        output.write(commands.utf8(task.command()));
+        output.write(SUBSHELL_END);
+        running++;
+      }
+      output.write(WAIT);
+    }
+    output.flush();
+  }
+
+  private static StringTable commandTable(final int tasks) {
+    return new StringTable(Math.min(tasks, MAX_INTERNED_COMMANDS), MAX_INTERNED_COMMANDS);
+  }
+
+  private static byte[] ascii(final String string) {
+    return string.getBytes(StandardCharsets.US_ASCII);
+  }
 }
@@ -0,0 +1,24 @@
+package com.krterziev.jobprocessor.transformers;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.payload.response.CircularDependencyResponse;
+import com.krterziev.jobprocessor.payload.response.DependencyCycleResponse;
+
+public class CircularDependencyTransformer {
+
+  private static final String MESSAGE = "Circular Dependency Found";
+
+  private CircularDependencyTransformer() {
+  }
+
+  public static CircularDependencyResponse transform(
+      final CircularDependencyDetectedException exception) {
+    return new CircularDependencyResponse(
+        MESSAGE,
+        exception.getCycles().stream().map(cycle -> new DependencyCycleResponse(
+            cycle.cycle(),
+            cycle.componentSize(),
+            cycle.members())).toList(),
+        exception.isTruncated());
+  }
+}
@@ -0,0 +1,29 @@
+package com.krterziev.jobprocessor.transformers;
+
+import com.krterziev.jobprocessor.execution.ExecutionResult;
+import com.krterziev.jobprocessor.execution.TaskExecutionResult;
+import com.krterziev.jobprocessor.payload.response.ExecutionResponse;
+import com.krterziev.jobprocessor.payload.response.TaskExecutionResponse;
+
+public class ExecutionTransformer {
+
+  private ExecutionTransformer() {
+  }
+
+  public static ExecutionResponse transform(final ExecutionResult executionResult) {
+    return new ExecutionResponse(
+        executionResult.succeeded(),
+        executionResult.durationMs(),
+        executionResult.tasks().stream().map(ExecutionTransformer::transform).toList());
+  }
+
+  public static TaskExecutionResponse transform(final TaskExecutionResult result) {
+    return new TaskExecutionResponse(
+        result.task().name(),
+        result.status().name(),
+        result.exitCode(),
+        result.startOffsetMs(),
+        result.durationMs());
+  }
+
+}
@@ -0,0 +1,23 @@
+package com.krterziev.jobprocessor.transformers;
+
+import com.krterziev.jobprocessor.payload.response.GraphAnalysisResponse;
+import com.krterziev.jobprocessor.scheduling.GraphAnalysis;
+
+public class GraphAnalysisTransformer {
+
+  private GraphAnalysisTransformer() {
+  }
+
+  public static GraphAnalysisResponse transform(final GraphAnalysis analysis) {
+    return new GraphAnalysisResponse(
+        analysis.tasks(),
+        analysis.edges(),
+        analysis.longestPath(),
+        analysis.maxWidth(),
+        analysis.levelWidths(),
+        analysis.maxFanIn(),
+        analysis.maxFanOut(),
+        analysis.components(),
+        analysis.maxSpeedup());
+  }
+}
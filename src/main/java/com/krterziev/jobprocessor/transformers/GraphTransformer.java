@@ -0,0 +1,29 @@
+package com.krterziev.jobprocessor.transformers;
+
+import com.krterziev.jobprocessor.graphs.GraphSession;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.payload.request.GraphPatchRequest;
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.payload.response.GraphResponse;
+import java.util.Collections;
+import java.util.List;
+
+public class GraphTransformer {
+
+  private GraphTransformer() {
+  }
+
+  public static GraphResponse transform(final GraphSession session) {
+    return new GraphResponse(session.id(), session.size(), session.edgeCount());
+  }
+
+  public static List<Task> upserts(final GraphPatchRequest patchRequest) {
+    return patchRequest.tasks() != null
+        ? TaskTransformer.transform(new TasksRequest(patchRequest.tasks()))
+        : Collections.emptyList();
+  }
+
+  public static List<String> removals(final GraphPatchRequest patchRequest) {
+    return patchRequest.remove() != null ? patchRequest.remove() : Collections.emptyList();
+  }
+}
@@ -0,0 +1,22 @@
+package com.krterziev.jobprocessor.transformers;
+
+import com.krterziev.jobprocessor.jobs.Job;
+import com.krterziev.jobprocessor.payload.response.JobResponse;
+
+public class JobTransformer {
+
+  private JobTransformer() {
+  }
+
+  public static JobResponse transform(final Job job) {
+    return new JobResponse(
+        job.id(),
+        job.type().name(),
+        job.status().name(),
+        job.submittedAt(),
+        job.completedAt(),
+        job.result(),
+        job.error());
+  }
+
+}
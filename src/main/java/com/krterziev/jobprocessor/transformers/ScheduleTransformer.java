@@ -0,0 +1,41 @@
+package com.krterziev.jobprocessor.transformers;
+
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.payload.response.CriticalPathResponse;
+import com.krterziev.jobprocessor.payload.response.ScheduleResponse;
+import com.krterziev.jobprocessor.payload.response.ScheduledTaskResponse;
+import com.krterziev.jobprocessor.payload.response.TaskTimingResponse;
+import com.krterziev.jobprocessor.scheduling.CriticalPathAnalysis;
+import com.krterziev.jobprocessor.scheduling.TaskSchedule;
+
+public class ScheduleTransformer {
+
+  private ScheduleTransformer() {
+  }
+
+  public static CriticalPathResponse transform(final CriticalPathAnalysis analysis) {
+    return new CriticalPathResponse(
+        analysis.makespanMs(),
+        analysis.criticalPath().stream().map(Task::name).toList(),
+        analysis.timings().stream().map(timing -> new TaskTimingResponse(
+            timing.task().name(),
+            timing.durationMs(),
+            timing.earliestStartMs(),
+            timing.latestStartMs(),
+            timing.slackMs(),
+            timing.critical())).toList());
+  }
+
+  public static ScheduleResponse transform(final TaskSchedule schedule) {
+    return new ScheduleResponse(
+        schedule.workers(),
+        schedule.makespanMs(),
+        schedule.tasks().stream().map(scheduledTask -> new ScheduledTaskResponse(
+            scheduledTask.task().name(),
+            scheduledTask.task().command(),
+            scheduledTask.worker(),
+            scheduledTask.startMs(),
+            scheduledTask.finishMs())).toList());
+  }
+
+}
@@ -0,0 +1,140 @@
+package com.krterziev.jobprocessor.transformers;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.scheduling.TasksGraphBuilder;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a {@code TasksRequest} JSON document token by token and feeds every task straight into a
+ * {@link TasksGraphBuilder}, so the request is never bound to intermediate objects. The targets
+ * may come after the tasks, so they are applied when the graph is built. Strings are interned
+ * straight from the parser's buffer, so a name or command repeated across tasks is allocated once.
+ *
+ * <p>The document is checked as strictly as data binding would check it: a truncated document,
+ * content after the root object, and an object or array where a string or a list of strings
+ * belongs are all rejected instead of being skipped.
+ */
+public class StreamingTaskTransformer {
+
+  private static final String TASKS_FIELD = "tasks";
+  private static final String TARGETS_FIELD = "targets";
+  private static final String NAME_FIELD = "name";
+  private static final String COMMAND_FIELD = "command";
+  private static final String REQUIRES_FIELD = "requires";
+  private static final String ESTIMATED_DURATION_FIELD = "estimatedDurationMs";
+  private static final String PRIORITY_FIELD = "priority";
+  private static final int INITIAL_STRINGS = 16;
+  private static final int MAX_INTERNED_STRINGS = 1 << 20;
+
+  private StreamingTaskTransformer() {
+  }
+
+  public static IndexedTasksGraph transform(final JsonParser parser)
+      throws IOException, InvalidTasksException {
+    final TasksGraphBuilder builder = new TasksGraphBuilder();
+    final StringTable strings = new StringTable(INITIAL_STRINGS, MAX_INTERNED_STRINGS);
+    List<String> targets = null;
+    expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+    while (next(parser) == JsonToken.FIELD_NAME) {
+      final String field = parser.getCurrentName();
+      final JsonToken value = next(parser);
+      if (TASKS_FIELD.equals(field) && value != JsonToken.VALUE_NULL) {
+        expect(parser, value, JsonToken.START_ARRAY);
+        while (next(parser) != JsonToken.END_ARRAY) {
+          readTask(parser, builder, strings);
+        }
+      } else if (TARGETS_FIELD.equals(field)) {
+        targets = readStrings(parser, strings);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    if (parser.nextToken() != null) {
+      throw new JsonParseException(parser, "Unexpected content after the request");
+    }
+    return builder.build(targets);
+  }
+
+  private static void readTask(final JsonParser parser, final TasksGraphBuilder builder,
+      final StringTable strings) throws IOException, InvalidTasksException {
+    expect(parser, parser.currentToken(), JsonToken.START_OBJECT);
+    String name = null;
+    String command = null;
+    List<String> requires = null;
+    Long estimatedDurationMs = null;
+    Integer priority = null;
+    while (next(parser) == JsonToken.FIELD_NAME) {
+      final String field = parser.getCurrentName();
+      final JsonToken value = next(parser);
+      if (NAME_FIELD.equals(field)) {
+        name = readString(parser, strings);
+      } else if (COMMAND_FIELD.equals(field)) {
+        command = readString(parser, strings);
+      } else if (ESTIMATED_DURATION_FIELD.equals(field) && value.isNumeric()) {
+        estimatedDurationMs = parser.getLongValue();
+      } else if (PRIORITY_FIELD.equals(field) && value.isNumeric()) {
+        priority = parser.getIntValue();
+      } else if (REQUIRES_FIELD.equals(field)) {
+        requires = readStrings(parser, strings);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    builder.addTask(name, command, requires, estimatedDurationMs, priority);
+  }
+
+  /**
+   * Reads an array of strings, or {@code null}, starting at the current token.
+   */
+  private static List<String> readStrings(final JsonParser parser, final StringTable strings)
+      throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    expect(parser, parser.currentToken(), JsonToken.START_ARRAY);
+    final List<String> values = new ArrayList<>();
+    while (next(parser) != JsonToken.END_ARRAY) {
+      values.add(readString(parser, strings));
+    }
+    return values;
+  }
+
+  /**
+   * Reads a string, or a number or boolean as its text, starting at the current token.
+   */
+  private static String readString(final JsonParser parser, final StringTable strings)
+      throws IOException {
+    final JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_STRING) {
+      return strings.intern(parser.getTextCharacters(), parser.getTextOffset(),
+          parser.getTextLength());
+    }
+    if (!token.isScalarValue()) {
+      throw new JsonParseException(parser,
+          String.format("Expected a string but found %s", token));
+    }
+    return strings.intern(parser.getValueAsString());
+  }
+
+  private static JsonToken next(final JsonParser parser) throws IOException {
+    final JsonToken token = parser.nextToken();
+    if (token == null) {
+      throw new JsonParseException(parser, "Unexpected end of input");
+    }
+    return token;
+  }
+
+  private static void expect(final JsonParser parser, final JsonToken actual,
+      final JsonToken expected) throws JsonParseException {
+    if (actual != expected) {
+      throw new JsonParseException(parser,
+          String.format("Expected %s but found %s", expected, actual));
+    }
+  }
+}
@@ -0,0 +1,200 @@
+package com.krterziev.jobprocessor.transformers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Interning table for the names and commands of one request, so that a string repeated across
+ * tasks is held by a single instance. Strings can be interned straight from a parser's character
+ * buffer, in which case a repeated string is never allocated at all.
+ *
+ * <p>The table also hands out the UTF-8 encoding of its strings. An encoding is kept once a
+ * string has been asked for twice, so a repeated string is encoded at most twice and a unique one
+ * holds no memory after it has been written. Once {@code maxSize} distinct strings are held, new
+ * strings are passed through without being interned.
+ *
+ * <p>Request strings are chosen by the client, and {@link String#hashCode} collisions are easy to
+ * build ("Aa" and "BB" collide, and so does every concatenation of them). The hash is spread
+ * before it picks a slot, and a lookup gives up after {@link #MAX_PROBES} slots: a string that
+ * does not fit within them is passed through too, so colliding strings cost a bounded amount of
+ * work each instead of a scan of the whole cluster.
+ */
+public class StringTable {
+
+  static final int MAX_PROBES = 64;
+  private static final byte[] ENCODED_ONCE = new byte[0];
+  private static final int NO_SLOT = -1;
+
+  private final int maxSize;
+  private String[] strings;
+  private byte[][] encodings;
+  private int size;
+
+  public StringTable() {
+    this(16, Integer.MAX_VALUE);
+  }
+
+  public StringTable(final int expectedSize) {
+    this(expectedSize, Integer.MAX_VALUE);
+  }
+
+  public StringTable(final int expectedSize, final int maxSize) {
+    this.maxSize = maxSize;
+    this.strings = new String[tableSize(Math.min(expectedSize, maxSize))];
+  }
+
+  public String intern(final String string) {
+    if (string == null) {
+      return null;
+    }
+    final int slot = slot(string);
+    if (slot == NO_SLOT) {
+      return string;
+    }
+    if (strings[slot] != null) {
+      return strings[slot];
+    }
+    insert(slot, string);
+    return string;
+  }
+
+  /**
+   * Interns {@code length} characters of {@code chars} from {@code offset}, allocating a string
+   * only when the table does not hold them yet.
+   */
+  public String intern(final char[] chars, final int offset, final int length) {
+    int hash = 0;
+    for (int index = offset; index < offset + length; index++) {
+      hash = 31 * hash + chars[index];
+    }
+    final int mask = strings.length - 1;
+    int slot = spread(hash) & mask;
+    for (int probe = 0; probe < MAX_PROBES; probe++) {
+      final String existing = strings[slot];
+      if (existing == null) {
+        final String string = new String(chars, offset, length);
+        insert(slot, string);
+        return string;
+      }
+      if (existing.hashCode() == hash && matches(existing, chars, offset, length)) {
+        return existing;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return new String(chars, offset, length);
+  }
+
+  public byte[] utf8(final String string) {
+    int slot = slot(string);
+    if (slot == NO_SLOT) {
+      return string.getBytes(StandardCharsets.UTF_8);
+    }
+    if (strings[slot] == null) {
+      if (!insert(slot, string)) {
+        return string.getBytes(StandardCharsets.UTF_8);
+      }
+      // A resize moves the string, possibly past the probe limit.
+      slot = slot(string);
+      if (slot == NO_SLOT) {
+        return string.getBytes(StandardCharsets.UTF_8);
+      }
+    }
+    if (encodings == null) {
+      encodings = new byte[strings.length][];
+    }
+    final byte[] encoding = encodings[slot];
+    if (encoding == null) {
+      encodings[slot] = ENCODED_ONCE;
+      return string.getBytes(StandardCharsets.UTF_8);
+    }
+    if (encoding == ENCODED_ONCE) {
+      return encodings[slot] = string.getBytes(StandardCharsets.UTF_8);
+    }
+    return encoding;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * The slot holding {@code string}, the empty slot where it belongs, or {@link #NO_SLOT} when
+   * neither is within {@link #MAX_PROBES} slots.
+   */
+  private int slot(final String string) {
+    final int hash = string.hashCode();
+    final int mask = strings.length - 1;
+    int slot = spread(hash) & mask;
+    for (int probe = 0; probe < MAX_PROBES; probe++) {
+      final String existing = strings[slot];
+      if (existing == null || existing == string
+          || existing.hashCode() == hash && existing.equals(string)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return NO_SLOT;
+  }
+
+  private boolean insert(final int slot, final String string) {
+    if (size == maxSize) {
+      return false;
+    }
+    strings[slot] = string;
+    size++;
+    if (size * 2 > strings.length) {
+      resize();
+    }
+    return true;
+  }
+
+  private void resize() {
+    final String[] oldStrings = strings;
+    final byte[][] oldEncodings = encodings;
+    strings = new String[oldStrings.length * 2];
+    encodings = oldEncodings != null ? new byte[strings.length][] : null;
+    final int mask = strings.length - 1;
+    for (int oldSlot = 0; oldSlot < oldStrings.length; oldSlot++) {
+      final String string = oldStrings[oldSlot];
+      if (string == null) {
+        continue;
+      }
+      int slot = spread(string.hashCode()) & mask;
+      while (strings[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      strings[slot] = string;
+      if (encodings != null) {
+        encodings[slot] = oldEncodings[oldSlot];
+      }
+    }
+  }
+
+  private static boolean matches(final String string, final char[] chars, final int offset,
+      final int length) {
+    if (string.length() != length) {
+      return false;
+    }
+    for (int index = 0; index < length; index++) {
+      if (string.charAt(index) != chars[offset + index]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The finalizer of MurmurHash3: every bit of the hash affects the low bits that pick the slot,
+   * so strings differing only in their last characters do not fill one run of neighbouring slots
+   * and ordinary requests stay far below the probe limit.
+   */
+  private static int spread(final int hash) {
+    int mixed = (hash ^ hash >>> 16) * 0x85EBCA6B;
+    mixed = (mixed ^ mixed >>> 13) * 0xC2B2AE35;
+    return mixed ^ mixed >>> 16;
+  }
+
+  private static int tableSize(final int expectedSize) {
+    final int minimum = Math.max(16, Math.min(expectedSize, 1 << 29) * 2);
+    return Integer.highestOneBit(minimum - 1) << 1;
+  }
+}
@@ -1,28 +1,143 @@
 package com.krterziev.jobprocessor.transformers;
 
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.SortResult;
 import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.payload.request.TaskRequest;
 import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.payload.response.ReducedTasksResponse;
+import com.krterziev.jobprocessor.payload.response.SortResultResponse;
 import com.krterziev.jobprocessor.payload.response.TaskResponse;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.scheduling.TasksGraphBuilder;
+import com.krterziev.jobprocessor.scheduling.TransitiveReduction;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class TaskTransformer {
 
+  private static final String SORTED = "SORTED";
+  private static final String INVALID = "INVALID";
+  private static final String CIRCULAR_DEPENDENCY = "CIRCULAR_DEPENDENCY";
+
   private TaskTransformer() {
   }
 
+  /**
+   * Names and commands are interned across the request, so the tasks, and a cached sort of them,
+   * share one instance of every repeated string.
+   */
   public static List<Task> transform(final TasksRequest tasksRequest) {
+    final StringTable strings = new StringTable(tasksRequest.tasks().size());
     return tasksRequest.tasks().stream().map(taskRequest -> new Task(
-        taskRequest.name(),
-        taskRequest.command(),
+        strings.intern(taskRequest.name()),
+        strings.intern(taskRequest.command()),
         taskRequest.requires() != null
-            ? new HashSet<>(taskRequest.requires()) : Collections.emptySet()))
+            ? intern(taskRequest.requires(), strings) : Collections.emptySet(),
+        taskRequest.estimatedDurationMs(),
+        taskRequest.priority()))
         .toList();
   }
 
+  /**
+   * Validates and indexes a request in a single pass: every name is interned once, duplicate
+   * names and unknown prerequisites are rejected with the offending task, and the result is the
+   * graph the sorter consumes, without intermediate {@link Task} lists or prerequisite sets. The
+   * tasks of the resulting graph carry no {@code requires}; the edges hold them.
+   */
+  public static IndexedTasksGraph transformToGraph(final TasksRequest tasksRequest)
+      throws InvalidTasksException {
+    final List<TaskRequest> taskRequests =
+        tasksRequest.tasks() != null ? tasksRequest.tasks() : Collections.emptyList();
+    final TasksGraphBuilder builder = new TasksGraphBuilder(taskRequests.size());
+    final StringTable commands = new StringTable(taskRequests.size());
+    for (final TaskRequest taskRequest : taskRequests) {
+      builder.addTask(taskRequest.name(), commands.intern(taskRequest.command()),
+          taskRequest.requires(), taskRequest.estimatedDurationMs(), taskRequest.priority());
+    }
+    return builder.build(tasksRequest.targets());
+  }
+
+  private static Set<String> intern(final List<String> names, final StringTable strings) {
+    final Set<String> interned = new HashSet<>((int) (names.size() / 0.75f) + 1);
+    for (final String name : names) {
+      interned.add(strings.intern(name));
+    }
+    return interned;
+  }
+
   public static List<TaskResponse> transform(final List<Task> tasks) {
     return tasks.stream().map(task -> new TaskResponse(task.name(), task.command())).toList();
   }
 
+  /**
+   * Maps sorted tasks back to their positions in the request they came from, which may hold more
+   * tasks than were sorted when it names targets.
+   */
+  public static int[] transformToIndices(final TasksRequest tasksRequest,
+      final List<Task> sortedTasks) {
+    final List<TaskRequest> taskRequests = tasksRequest.tasks();
+    final Map<String, Integer> positions = new HashMap<>(
+        (int) (taskRequests.size() / 0.75f) + 1);
+    for (int position = 0; position < taskRequests.size(); position++) {
+      positions.put(taskRequests.get(position).name(), position);
+    }
+    final int[] indices = new int[sortedTasks.size()];
+    for (int index = 0; index < indices.length; index++) {
+      indices[index] = positions.get(sortedTasks.get(index).name());
+    }
+    return indices;
+  }
+
+  /**
+   * Per-job results of a batch sort, in request order. A failed job carries its error instead of
+   * tasks.
+   */
+  public static List<SortResultResponse> transformResults(final List<SortResult> results) {
+    return results.stream().map(result -> {
+      if (result.error() instanceof CircularDependencyDetectedException exception) {
+        return new SortResultResponse(CIRCULAR_DEPENDENCY, null, exception.getMessage(),
+            CircularDependencyTransformer.transform(exception));
+      }
+      if (result.error() != null) {
+        return new SortResultResponse(INVALID, null, result.error().getMessage(), null);
+      }
+      return new SortResultResponse(SORTED, transform(result.tasks()), null, null);
+    }).toList();
+  }
+
+  /**
+   * The tasks in their original order, each requiring only the prerequisites left in the reduced
+   * graph.
+   */
+  public static ReducedTasksResponse transform(final TransitiveReduction reduction) {
+    final IndexedTasksGraph graph = reduction.graph();
+    final List<List<String>> requires = new ArrayList<>(graph.size());
+    for (int id = 0; id < graph.size(); id++) {
+      requires.add(new ArrayList<>(graph.prerequisiteCount(id)));
+    }
+    for (int id = 0; id < graph.size(); id++) {
+      for (int edge = graph.dependentEdgesStart(id); edge < graph.dependentEdgesEnd(id); edge++) {
+        requires.get(graph.dependent(edge)).add(graph.task(id).name());
+      }
+    }
+    final List<TaskRequest> tasks = new ArrayList<>(graph.size());
+    for (int id = 0; id < graph.size(); id++) {
+      final Task task = graph.task(id);
+      tasks.add(new TaskRequest(task.name(), task.command(), requires.get(id),
+          task.estimatedDurationMs(), task.priority()));
+    }
+    return new ReducedTasksResponse(graph.edgeCount(), reduction.removedEdges(), tasks);
+  }
+
+  public static List<List<TaskResponse>> transformLevels(final List<List<Task>> levels) {
+    return levels.stream().map(TaskTransformer::transform).toList();
+  }
+
 }
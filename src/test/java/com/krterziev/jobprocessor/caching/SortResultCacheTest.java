@@ -0,0 +1,149 @@
+package com.krterziev.jobprocessor.caching;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.scheduling.TasksGraphBuilder;
+import com.krterziev.jobprocessor.scheduling.TieBreaker;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class SortResultCacheTest {
+
+  private static final String TASK_1_NAME = "task-1";
+  private static final String TASK_2_NAME = "task-2";
+  private static final String TASK_3_NAME = "task-3";
+  private static final String TASK_COMMAND = "task command";
+
+  @Test
+  void givenReorderedTasks_thenFingerprintIsTheSame() {
+    final List<Task> tasks = Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Set.of(TASK_1_NAME)),
+        new Task(TASK_3_NAME, TASK_COMMAND, new LinkedHashSet<>(
+            Arrays.asList(TASK_1_NAME, TASK_2_NAME))));
+    final List<Task> reorderedTasks = Arrays.asList(
+        new Task(TASK_3_NAME, TASK_COMMAND, new LinkedHashSet<>(
+            Arrays.asList(TASK_2_NAME, TASK_1_NAME))),
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Set.of(TASK_1_NAME)));
+
+    assertThat(TasksFingerprint.of(new IndexedTasksGraph(tasks)),
+        equalTo(TasksFingerprint.of(new IndexedTasksGraph(reorderedTasks))));
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = TieBreaker.class, names = {"LEVEL", "INPUT_ORDER", "PRIORITY", "FAN_OUT"})
+  void givenPermutedTasks_whenTieBreakerFallsBackToInputOrder_thenOrderAndFingerprintDiffer(
+      final TieBreaker tieBreaker) throws CircularDependencyDetectedException {
+    final IndexedTasksGraph graph = new IndexedTasksGraph(Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Collections.emptySet())));
+    final IndexedTasksGraph permutedGraph = new IndexedTasksGraph(Arrays.asList(
+        new Task(TASK_2_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet())));
+
+    assertThat(permutedGraph.sort(tieBreaker), not(equalTo(graph.sort(tieBreaker))));
+    assertThat(TasksFingerprint.of(permutedGraph, tieBreaker),
+        not(equalTo(TasksFingerprint.of(graph, tieBreaker))));
+  }
+
+  @Test
+  void givenPermutedTasks_whenSortingByName_thenFingerprintIsTheSame() {
+    final IndexedTasksGraph graph = new IndexedTasksGraph(Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Collections.emptySet())));
+    final IndexedTasksGraph permutedGraph = new IndexedTasksGraph(Arrays.asList(
+        new Task(TASK_2_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet())));
+
+    assertThat(TasksFingerprint.of(permutedGraph, TieBreaker.NAME),
+        equalTo(TasksFingerprint.of(graph, TieBreaker.NAME)));
+  }
+
+  @Test
+  void givenBuiltGraph_thenFingerprintMatchesTheGraphOfTheSameTasks()
+      throws InvalidTasksException {
+    final TasksGraphBuilder builder = new TasksGraphBuilder();
+    builder.addTask(TASK_2_NAME, TASK_COMMAND, List.of(TASK_1_NAME));
+    builder.addTask(TASK_1_NAME, TASK_COMMAND, Collections.emptyList());
+    final List<Task> tasks = Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Set.of(TASK_1_NAME)));
+
+    assertThat(TasksFingerprint.of(builder.build()),
+        equalTo(TasksFingerprint.of(new IndexedTasksGraph(tasks))));
+  }
+
+  @Test
+  void givenDifferentCommand_thenFingerprintDiffers() {
+    final List<Task> tasks = Collections.singletonList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()));
+    final List<Task> changedTasks = Collections.singletonList(
+        new Task(TASK_1_NAME, "another command", Collections.emptySet()));
+
+    assertThat(TasksFingerprint.of(new IndexedTasksGraph(tasks)),
+        not(equalTo(TasksFingerprint.of(new IndexedTasksGraph(changedTasks)))));
+  }
+
+  @Test
+  void givenTaskDigestsWithTheSameSum_thenFingerprintDiffers() {
+    final byte[] first = new byte[32];
+    final byte[] second = new byte[32];
+    Arrays.fill(first, (byte) 0x10);
+    Arrays.fill(second, (byte) 0x20);
+    final byte[] shiftedFirst = first.clone();
+    final byte[] shiftedSecond = second.clone();
+    shiftedFirst[31]++;
+    shiftedSecond[31]--;
+
+    assertThat(TasksFingerprint.combine(new byte[][]{first, second}, false, null),
+        not(equalTo(TasksFingerprint.combine(
+            new byte[][]{shiftedFirst, shiftedSecond}, false, null))));
+  }
+
+  @Test
+  void givenCacheOverItsWeight_thenEvictLeastRecentlyUsedEntries() {
+    final SortResultCache cache = new SortResultCache(4);
+    final List<Task> twoTasks = Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Collections.emptySet()));
+    cache.put("first", twoTasks);
+    cache.put("second", twoTasks);
+    cache.get("first");
+
+    cache.put("third", twoTasks);
+
+    assertThat(cache.get("first"), equalTo(twoTasks));
+    assertThat(cache.get("second"), nullValue());
+    assertThat(cache.get("third"), equalTo(twoTasks));
+    final CacheStats stats = cache.stats();
+    assertThat(stats.hits(), equalTo(3L));
+    assertThat(stats.misses(), equalTo(1L));
+    assertThat(stats.evictions(), equalTo(1L));
+    assertThat(stats.weight(), equalTo(4L));
+  }
+
+  @Test
+  void givenEntryHeavierThanTheCache_thenDoNotCacheIt() {
+    final SortResultCache cache = new SortResultCache(1);
+
+    cache.put("heavy", Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Collections.emptySet())));
+
+    assertThat(cache.get("heavy"), nullValue());
+  }
+}
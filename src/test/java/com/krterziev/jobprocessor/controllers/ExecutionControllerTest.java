@@ -0,0 +1,139 @@
+package com.krterziev.jobprocessor.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.execution.ExecutionResult;
+import com.krterziev.jobprocessor.execution.FailurePolicy;
+import com.krterziev.jobprocessor.execution.TaskExecutionResult;
+import com.krterziev.jobprocessor.execution.TaskExecutionStatus;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.payload.request.TaskRequest;
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.payload.response.ExecutionResponse;
+import com.krterziev.jobprocessor.payload.response.TaskExecutionResponse;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.services.ExecutionService;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(value = ExecutionController.class, properties = "tasks.execution.enabled=true")
+public class ExecutionControllerTest {
+
+  private static final String TASK_1_NAME = "task-1";
+  private static final String TASK_2_NAME = "task-2";
+  private static final String TASK_1_COMMAND = "true";
+  private static final String TASK_2_COMMAND = "false";
+  private static final String TASK_3_NAME = "task-3";
+  private static final String TASK_3_COMMAND = "true";
+  private static final String UNKNOWN_NAME = "task-0";
+
+  @Autowired
+  MockMvc mvc;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  @MockBean
+  private ExecutionService service;
+
+  @Test
+  void givenTasks_whenExecuting_thenReturnPerTaskResults() throws Exception {
+    final List<Task> tasks = givenTasks();
+    when(service.executeTasks(any(IndexedTasksGraph.class), eq(2), eq(FailurePolicy.CONTINUE)))
+        .thenReturn(new ExecutionResult(false, 15L, Arrays.asList(
+            new TaskExecutionResult(tasks.get(0), TaskExecutionStatus.SUCCEEDED, 0, 0L, 5L),
+            new TaskExecutionResult(tasks.get(1), TaskExecutionStatus.FAILED, 1, 5L, 10L))));
+
+    final ExecutionResponse expectedResponse = new ExecutionResponse(false, 15L, Arrays.asList(
+        new TaskExecutionResponse(TASK_1_NAME, "SUCCEEDED", 0, 0L, 5L),
+        new TaskExecutionResponse(TASK_2_NAME, "FAILED", 1, 5L, 10L)));
+    mvc.perform(post("/tasks/execute")
+            .param("concurrency", "2")
+            .param("failurePolicy", "CONTINUE")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isOk())
+        .andExpect(content().json(objectMapper.writeValueAsString(expectedResponse)));
+
+    verify(service, times(1)).executeTasks(argThat(graph -> graph.size() == 2), eq(2),
+        eq(FailurePolicy.CONTINUE));
+  }
+
+  @Test
+  void givenTargets_whenExecuting_thenExecuteOnlyTheirPrerequisites() throws Exception {
+    when(service.executeTasks(any(IndexedTasksGraph.class), isNull(), eq(FailurePolicy.FAIL_FAST)))
+        .thenReturn(new ExecutionResult(true, 5L, Collections.emptyList()));
+
+    mvc.perform(post("/tasks/execute")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequestWithTargets())))
+        .andExpect(status().isOk());
+
+    verify(service, times(1)).executeTasks(argThat(graph -> graph.size() == 2), isNull(),
+        eq(FailurePolicy.FAIL_FAST));
+  }
+
+  @Test
+  void givenTasksWithCircularDependency_whenExecuting_thenReturnBadRequest() throws Exception {
+    when(service.executeTasks(any(IndexedTasksGraph.class), isNull(), eq(FailurePolicy.FAIL_FAST)))
+        .thenThrow(new CircularDependencyDetectedException());
+
+    mvc.perform(post("/tasks/execute")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void givenInvalidConcurrency_whenExecuting_thenReturnBadRequest() throws Exception {
+    mvc.perform(post("/tasks/execute")
+            .param("concurrency", "0")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  private TasksRequest givenTasksRequest() {
+    return new TasksRequest(Arrays.asList(
+        new TaskRequest(TASK_1_NAME, TASK_1_COMMAND, Collections.emptyList()),
+        new TaskRequest(TASK_2_NAME, TASK_2_COMMAND, Collections.singletonList(TASK_1_NAME))));
+  }
+
+  /**
+   * Task 3 is not required by the target, so its missing prerequisite is never checked.
+   */
+  private TasksRequest givenTasksRequestWithTargets() {
+    return new TasksRequest(Arrays.asList(
+        new TaskRequest(TASK_1_NAME, TASK_1_COMMAND, Collections.emptyList()),
+        new TaskRequest(TASK_2_NAME, TASK_2_COMMAND, Collections.singletonList(TASK_1_NAME)),
+        new TaskRequest(TASK_3_NAME, TASK_3_COMMAND, Collections.singletonList(UNKNOWN_NAME))),
+        Collections.singletonList(TASK_2_NAME));
+  }
+
+  private List<Task> givenTasks() {
+    return Arrays.asList(
+        new Task(TASK_1_NAME, TASK_1_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_2_COMMAND, Set.of(TASK_1_NAME)));
+  }
+}
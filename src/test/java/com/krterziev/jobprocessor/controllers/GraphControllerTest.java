@@ -0,0 +1,149 @@
+package com.krterziev.jobprocessor.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.GraphNotFoundException;
+import com.krterziev.jobprocessor.graphs.GraphSession;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.payload.request.GraphPatchRequest;
+import com.krterziev.jobprocessor.payload.request.TaskRequest;
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.scheduling.DynamicTasksGraph;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.services.GraphService;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(value = GraphController.class)
+public class GraphControllerTest {
+
+  private static final String GRAPH_ID = "graph-1";
+  private static final String TASK_1_NAME = "task-1";
+  private static final String TASK_1_COMMAND = "task command 1";
+  private static final String TASK_2_NAME = "task-2";
+  private static final String TASK_2_COMMAND = "task command 2";
+  private static final String UNKNOWN_NAME = "task-0";
+
+  @Autowired
+  MockMvc mvc;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  @MockBean
+  private GraphService service;
+
+  @Test
+  void givenTasks_whenCreatingGraph_thenReturnCreatedWithGraphId() throws Exception {
+    final List<Task> tasks = Collections.singletonList(
+        new Task(TASK_1_NAME, TASK_1_COMMAND, Collections.emptySet()));
+    when(service.createGraph(any(IndexedTasksGraph.class))).thenReturn(givenSession(tasks));
+
+    mvc.perform(post("/graphs")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(new TasksRequest(Collections.singletonList(
+                new TaskRequest(TASK_1_NAME, TASK_1_COMMAND, Collections.emptyList()))))))
+        .andExpect(status().isCreated())
+        .andExpect(header().string("Location", "/graphs/" + GRAPH_ID))
+        .andExpect(jsonPath("$.id").value(GRAPH_ID))
+        .andExpect(jsonPath("$.size").value(1));
+  }
+
+  @Test
+  void givenTargets_whenCreatingGraph_thenKeepOnlyTheirPrerequisites() throws Exception {
+    final List<Task> tasks = Collections.singletonList(
+        new Task(TASK_1_NAME, TASK_1_COMMAND, Collections.emptySet()));
+    when(service.createGraph(any(IndexedTasksGraph.class))).thenReturn(givenSession(tasks));
+
+    mvc.perform(post("/graphs")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(new TasksRequest(Arrays.asList(
+                new TaskRequest(TASK_1_NAME, TASK_1_COMMAND, Collections.emptyList()),
+                new TaskRequest(TASK_2_NAME, TASK_2_COMMAND,
+                    Collections.singletonList(UNKNOWN_NAME))),
+                Collections.singletonList(TASK_1_NAME)))))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.size").value(1));
+
+    verify(service).createGraph(argThat(graph -> graph.size() == 1
+        && graph.task(0).name().equals(TASK_1_NAME)));
+  }
+
+  @Test
+  void givenPatch_whenUpdatingGraph_thenPassUpsertsAndRemovals() throws Exception {
+    final List<Task> upserts = Collections.singletonList(
+        new Task(TASK_2_NAME, TASK_2_COMMAND, Set.of(TASK_1_NAME)));
+    final List<String> removals = Collections.singletonList(TASK_1_NAME);
+    when(service.updateGraph(GRAPH_ID, upserts, removals)).thenReturn(givenSession(
+        Collections.singletonList(new Task(TASK_1_NAME, TASK_1_COMMAND, Collections.emptySet()))));
+
+    mvc.perform(patch("/graphs/" + GRAPH_ID + "/tasks")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(new GraphPatchRequest(
+                Collections.singletonList(new TaskRequest(TASK_2_NAME, TASK_2_COMMAND,
+                    Collections.singletonList(TASK_1_NAME))), removals))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(GRAPH_ID));
+
+    verify(service).updateGraph(GRAPH_ID, upserts, removals);
+  }
+
+  @Test
+  void givenPatchClosingCycle_whenUpdatingGraph_thenReturnBadRequest() throws Exception {
+    when(service.updateGraph(any(), any(), any()))
+        .thenThrow(new CircularDependencyDetectedException());
+
+    mvc.perform(patch("/graphs/" + GRAPH_ID + "/tasks")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(
+                new GraphPatchRequest(null, Collections.emptyList()))))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void givenGraph_whenGettingOrder_thenReturnSortedTasks() throws Exception {
+    when(service.sortGraph(GRAPH_ID)).thenReturn(List.of(
+        new Task(TASK_1_NAME, TASK_1_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_2_COMMAND, Set.of(TASK_1_NAME))));
+
+    mvc.perform(get("/graphs/" + GRAPH_ID + "/order"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].name").value(TASK_1_NAME))
+        .andExpect(jsonPath("$[1].name").value(TASK_2_NAME));
+  }
+
+  @Test
+  void givenUnknownGraph_whenGettingOrderOrDeleting_thenReturnNotFound() throws Exception {
+    when(service.sortGraph(GRAPH_ID)).thenThrow(new GraphNotFoundException(GRAPH_ID));
+    doThrow(new GraphNotFoundException(GRAPH_ID)).when(service).deleteGraph(GRAPH_ID);
+
+    mvc.perform(get("/graphs/" + GRAPH_ID + "/order"))
+        .andExpect(status().isNotFound());
+    mvc.perform(delete("/graphs/" + GRAPH_ID))
+        .andExpect(status().isNotFound());
+  }
+
+  private static GraphSession givenSession(final List<Task> tasks) throws Exception {
+    return new GraphSession(GRAPH_ID, DynamicTasksGraph.of(tasks));
+  }
+}
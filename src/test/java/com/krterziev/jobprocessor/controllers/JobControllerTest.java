@@ -0,0 +1,167 @@
+package com.krterziev.jobprocessor.controllers;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krterziev.jobprocessor.exceptions.JobNotFoundException;
+import com.krterziev.jobprocessor.execution.FailurePolicy;
+import com.krterziev.jobprocessor.jobs.Job;
+import com.krterziev.jobprocessor.jobs.JobType;
+import com.krterziev.jobprocessor.payload.request.TaskRequest;
+import com.krterziev.jobprocessor.payload.request.TasksRequest;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.services.JobService;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(value = JobController.class, properties = "tasks.execution.enabled=true")
+public class JobControllerTest {
+
+  private static final String JOB_ID = "job-1";
+  private static final String TASK_1_NAME = "task-1";
+  private static final String TASK_1_COMMAND = "task command 1";
+  private static final String TASK_2_NAME = "task-2";
+  private static final String TASK_2_COMMAND = "task command 2";
+  private static final String UNKNOWN_NAME = "task-0";
+
+  @Autowired
+  MockMvc mvc;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  @MockBean
+  private JobService service;
+
+  @Test
+  void givenTasks_whenSubmittingJob_thenReturnAcceptedWithJobId() throws Exception {
+    when(service.submitJob(eq(JobType.EXECUTE), any(IndexedTasksGraph.class), isNull(),
+        eq(FailurePolicy.FAIL_FAST)))
+        .thenReturn(new Job(JOB_ID, JobType.EXECUTE, Instant.now()));
+
+    mvc.perform(post("/jobs")
+            .param("type", "EXECUTE")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("Location", "/jobs/" + JOB_ID))
+        .andExpect(jsonPath("$.id").value(JOB_ID))
+        .andExpect(jsonPath("$.status").value("QUEUED"));
+
+    verify(service, times(1)).submitJob(eq(JobType.EXECUTE), argThat(graph -> graph.size() == 1),
+        isNull(), eq(FailurePolicy.FAIL_FAST));
+  }
+
+  @Test
+  void givenTargets_whenSubmittingJob_thenSubmitOnlyTheirPrerequisites() throws Exception {
+    when(service.submitJob(eq(JobType.SORT), any(IndexedTasksGraph.class), isNull(),
+        eq(FailurePolicy.FAIL_FAST)))
+        .thenReturn(new Job(JOB_ID, JobType.SORT, Instant.now()));
+
+    mvc.perform(post("/jobs")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(new TasksRequest(Arrays.asList(
+                new TaskRequest(TASK_1_NAME, TASK_1_COMMAND, Collections.emptyList()),
+                new TaskRequest(TASK_2_NAME, TASK_2_COMMAND,
+                    Collections.singletonList(UNKNOWN_NAME))),
+                Collections.singletonList(TASK_1_NAME)))))
+        .andExpect(status().isAccepted());
+
+    verify(service, times(1)).submitJob(eq(JobType.SORT), argThat(graph -> graph.size() == 1),
+        isNull(), eq(FailurePolicy.FAIL_FAST));
+  }
+
+  @Test
+  void givenUnknownTarget_whenSubmittingJob_thenReturnBadRequest() throws Exception {
+    mvc.perform(post("/jobs")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(new TasksRequest(
+                givenTasksRequest().tasks(), Collections.singletonList(UNKNOWN_NAME)))))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  void givenFullJobQueue_whenSubmittingJob_thenReturnServiceUnavailable() throws Exception {
+    when(service.submitJob(eq(JobType.SORT), any(IndexedTasksGraph.class), isNull(),
+        eq(FailurePolicy.FAIL_FAST)))
+        .thenThrow(new RejectedExecutionException());
+
+    mvc.perform(post("/jobs")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isServiceUnavailable());
+  }
+
+  @Test
+  void givenFinishedJob_whenGettingIt_thenReturnItsResult() throws Exception {
+    final Job job = new Job(JOB_ID, JobType.SORT, Instant.now());
+    job.succeed(Collections.singletonList(TASK_1_NAME));
+    when(service.findJob(JOB_ID)).thenReturn(job);
+
+    mvc.perform(get("/jobs/" + JOB_ID))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+        .andExpect(jsonPath("$.result[0]").value(TASK_1_NAME));
+  }
+
+  @Test
+  void givenUnknownJob_whenGettingIt_thenReturnNotFound() throws Exception {
+    when(service.findJob(JOB_ID)).thenThrow(new JobNotFoundException(JOB_ID));
+
+    mvc.perform(get("/jobs/" + JOB_ID))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void givenRunningJob_whenStreamingEvents_thenSendStatusProgressAndCompletion()
+      throws Exception {
+    final Job job = new Job(JOB_ID, JobType.EXECUTE, Instant.now());
+    job.start();
+    when(service.findJob(JOB_ID)).thenReturn(job);
+
+    final MvcResult mvcResult = mvc.perform(get("/jobs/" + JOB_ID + "/events"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    job.progress(Collections.singletonMap("name", TASK_1_NAME));
+    job.succeed("done");
+
+    mvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andExpect(content().string(containsString("event:status\ndata:{\"id\":\"job-1\"")))
+        .andExpect(content().string(containsString(
+            "event:progress\ndata:{\"name\":\"task-1\"}")))
+        .andExpect(content().string(containsString("event:completed\ndata:")))
+        .andExpect(content().string(containsString("\"status\":\"SUCCEEDED\"")));
+  }
+
+  private TasksRequest givenTasksRequest() {
+    return new TasksRequest(Collections.singletonList(
+        new TaskRequest(TASK_1_NAME, TASK_1_COMMAND, Collections.emptyList())));
+  }
+}
@@ -1,33 +1,58 @@
 package com.krterziev.jobprocessor.controllers;
 
 import static com.krterziev.jobprocessor.matchers.ResponseBodyMatchers.responseBody;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.DependencyCycle;
+import com.krterziev.jobprocessor.models.SortResult;
 import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.payload.request.ResumeRequest;
 import com.krterziev.jobprocessor.payload.request.TaskRequest;
 import com.krterziev.jobprocessor.payload.request.TasksRequest;
 import com.krterziev.jobprocessor.payload.response.TaskResponse;
+import com.krterziev.jobprocessor.scheduling.GraphAnalysis;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import com.krterziev.jobprocessor.scheduling.TieBreaker;
+import com.krterziev.jobprocessor.scheduling.TransitiveReduction;
+import com.krterziev.jobprocessor.services.JobService;
 import com.krterziev.jobprocessor.services.TaskService;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(value = TaskController.class)
 public class TaskControllerTest {
@@ -39,6 +64,7 @@ public class TaskControllerTest {
   private static final String TASK_2_COMMAND = "task command 2";
   private static final String TASK_3_COMMAND = "task command 3";
   private final static String BASH_COMMENT = "#!/usr/bin/env bash";
+  private static final String FINGERPRINT = "0123456789abcdef";
   private static final List<String> TASK_REQUIREMENTS = Arrays.asList(TASK_1_NAME, TASK_2_NAME);
 
   @Autowired
@@ -50,24 +76,244 @@ public class TaskControllerTest {
   @MockBean
   private TaskService service;
 
+  @MockBean
+  private JobService jobService;
+
   @Test
   void givenTasks_whenSorting_thenReturnTasksSorted()
       throws Exception {
     final TasksRequest tasksRequest = givenTasksRequest();
 
-    final List<Task> unsortedTasks = givenUnsortedTasks();
     final List<Task> tasks = givenSortedTasks();
-    when(service.sortTasks(unsortedTasks)).thenReturn(tasks);
+    when(service.fingerprint(any(IndexedTasksGraph.class), isNull())).thenReturn(FINGERPRINT);
+    when(service.sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), isNull()))
+        .thenReturn(tasks);
 
     final List<TaskResponse> expectedTasksResponse = givenTasksResponse();
     mvc.perform(post("/tasks/sort")
             .contentType("application/json")
             .content(objectMapper.writeValueAsString(tasksRequest)))
         .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"" + FINGERPRINT + "-tasks\""))
         .andExpect(responseBody().containsObjectsAsJson(expected(expectedTasksResponse),
             TaskResponse.class));
 
-    verify(service, times(1)).sortTasks(unsortedTasks);
+    verify(service, times(1)).sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), isNull());
+  }
+
+  @Test
+  void givenBatch_whenSorting_thenReturnResultOrErrorPerJob() throws Exception {
+    final List<TasksRequest> tasksRequests = Arrays.asList(givenTasksRequest(),
+        givenTasksRequestWithInvalidPrerequisites(), givenTasksRequestWithCircularDependency());
+    when(service.sortTasksBatch(tasksRequests, null)).thenReturn(Arrays.asList(
+        SortResult.sorted(givenSortedTasks()),
+        SortResult.failed(new InvalidTasksException(
+            "Some of the prerequisites of task task-2 does not exist.")),
+        SortResult.failed(new CircularDependencyDetectedException(List.of(new DependencyCycle(
+            List.of(TASK_1_NAME, TASK_2_NAME, TASK_1_NAME), 2,
+            List.of(TASK_1_NAME, TASK_2_NAME))), false))));
+
+    mvc.perform(post("/tasks/sort-batch")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(tasksRequests)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].status").value("SORTED"))
+        .andExpect(jsonPath("$[0].tasks[2].name").value(TASK_3_NAME))
+        .andExpect(jsonPath("$[1].status").value("INVALID"))
+        .andExpect(jsonPath("$[1].error")
+            .value("Some of the prerequisites of task task-2 does not exist."))
+        .andExpect(jsonPath("$[2].status").value("CIRCULAR_DEPENDENCY"))
+        .andExpect(jsonPath("$[2].circularDependency.cycles[0].componentSize").value(2));
+  }
+
+  @Test
+  void givenTooManyJobs_whenSortingBatch_thenReturnBadRequest() throws Exception {
+    mvc.perform(post("/tasks/sort-batch")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(
+                Collections.nCopies(1001, givenTasksRequest()))))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  void givenCompletedTasks_whenResuming_thenReturnRemainingTasksSorted() throws Exception {
+    final ResumeRequest resumeRequest = new ResumeRequest(givenTasksRequest().tasks(),
+        List.of(TASK_1_NAME));
+    when(service.resumeTasks(any(IndexedTasksGraph.class), eq(Set.of(TASK_1_NAME)), isNull()))
+        .thenReturn(List.of(new Task(TASK_2_NAME, TASK_2_COMMAND, Collections.emptySet()),
+            new Task(TASK_3_NAME, TASK_3_COMMAND, Collections.emptySet())));
+
+    mvc.perform(post("/tasks/resume")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(resumeRequest)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].name").value(TASK_2_NAME))
+        .andExpect(jsonPath("$[1].name").value(TASK_3_NAME));
+  }
+
+  @Test
+  void givenPriorJob_whenResuming_thenSkipTasksTheJobCompleted() throws Exception {
+    final ResumeRequest resumeRequest = new ResumeRequest(givenTasksRequest().tasks(),
+        List.of(TASK_1_NAME));
+    when(jobService.findSucceededTaskNames("job-1")).thenReturn(Set.of(TASK_2_NAME));
+    when(service.resumeTasks(any(IndexedTasksGraph.class),
+        eq(Set.of(TASK_1_NAME, TASK_2_NAME)), isNull()))
+        .thenReturn(List.of(new Task(TASK_3_NAME, TASK_3_COMMAND, Collections.emptySet())));
+
+    final MvcResult mvcResult = mvc.perform(post("/tasks/resume-commands")
+            .param("jobId", "job-1")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(resumeRequest)))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    final String script = mvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    assertThat(script, equalTo(BASH_COMMENT + "\n\n" + TASK_3_COMMAND + "\n"));
+  }
+
+  @Test
+  void givenTieBreaker_whenSorting_thenSortWithTieBreaker() throws Exception {
+    when(service.fingerprint(any(IndexedTasksGraph.class), eq(TieBreaker.NAME)))
+        .thenReturn(FINGERPRINT);
+    when(service.sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), eq(TieBreaker.NAME)))
+        .thenReturn(givenSortedTasks());
+
+    mvc.perform(post("/tasks/sort")
+            .param("tieBreaker", "NAME")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isOk());
+
+    verify(service, times(1)).sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), eq(TieBreaker.NAME));
+  }
+
+  @Test
+  void givenUnknownTieBreaker_whenSorting_thenReturnBadRequest() throws Exception {
+    mvc.perform(post("/tasks/sort")
+            .param("tieBreaker", "RANDOM")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  void givenTasks_whenSortingToIndices_thenReturnRequestPositionsInOrder() throws Exception {
+    final TasksRequest tasksRequest = givenTasksRequest();
+
+    when(service.fingerprint(any(IndexedTasksGraph.class), isNull())).thenReturn(FINGERPRINT);
+    when(service.sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), isNull()))
+        .thenReturn(givenSortedTasks());
+
+    mvc.perform(post("/tasks/sort")
+            .param("view", "indices")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(tasksRequest)))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"" + FINGERPRINT + "-indices\""))
+        .andExpect(content().json("[1, 2, 0]"));
+  }
+
+  @Test
+  void givenTargets_whenSortingToIndices_thenSortOnlyTheirPrerequisites() throws Exception {
+    final List<Task> requiredTasks = Arrays.asList(
+        new Task(TASK_1_NAME, TASK_1_COMMAND, Collections.emptySet()),
+        new Task(TASK_3_NAME, TASK_3_COMMAND, Set.of(TASK_1_NAME)));
+    when(service.fingerprint(argThat(graph -> graph.size() == 2), isNull()))
+        .thenReturn(FINGERPRINT);
+    when(service.sortTasksCached(eq(FINGERPRINT),
+        argThat(graph -> graph.size() == 2), isNull()))
+        .thenReturn(requiredTasks);
+
+    mvc.perform(post("/tasks/sort")
+            .param("view", "indices")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequestWithTargets())))
+        .andExpect(status().isOk())
+        .andExpect(content().json("[0, 2]"));
+
+    verify(service, times(1)).sortTasksCached(eq(FINGERPRINT),
+        argThat(graph -> graph.size() == 2), isNull());
+  }
+
+  @Test
+  void givenStreamedTargets_whenSorting_thenSortOnlyTheirPrerequisites() throws Exception {
+    when(service.sortTasks(any(IndexedTasksGraph.class), isNull()))
+        .thenReturn(givenSortedTasks());
+
+    mvc.perform(post("/tasks/sort")
+            .param("ingestion", "streaming")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequestWithTargets())))
+        .andExpect(status().isOk());
+
+    verify(service, times(1)).sortTasks(argThat(graph -> graph.size() == 2), isNull());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"/tasks/sort", "/tasks/sort-commands", "/tasks/levels"})
+  void givenUnknownTarget_whenSorting_thenReturnBadRequest(final String route)
+      throws Exception {
+    final TasksRequest tasksRequest = new TasksRequest(givenTasksRequest().tasks(),
+        List.of("invalid-task-name"));
+
+    mvc.perform(post(route)
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(tasksRequest)))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  void givenCborTasks_whenSorting_thenReturnCborTasksSorted() throws Exception {
+    final CBORMapper cborMapper = new CBORMapper();
+    when(service.fingerprint(any(IndexedTasksGraph.class), isNull())).thenReturn(FINGERPRINT);
+    when(service.sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), isNull()))
+        .thenReturn(givenSortedTasks());
+
+    final MvcResult mvcResult = mvc.perform(post("/tasks/sort")
+            .contentType(MediaType.APPLICATION_CBOR)
+            .accept(MediaType.APPLICATION_CBOR)
+            .content(cborMapper.writeValueAsBytes(givenTasksRequest())))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+        .andReturn();
+
+    final TaskResponse[] response = cborMapper.readValue(
+        mvcResult.getResponse().getContentAsByteArray(), TaskResponse[].class);
+    assertThat(Arrays.asList(response), equalTo(givenTasksResponse()));
+  }
+
+  @Test
+  void givenStreamedCborTasks_whenSortingToIndices_thenReturnCborIndices() throws Exception {
+    final CBORMapper cborMapper = new CBORMapper();
+    when(service.sortTaskIndices(any(IndexedTasksGraph.class), isNull()))
+        .thenReturn(new int[]{1, 2, 0});
+
+    final MvcResult mvcResult = mvc.perform(post("/tasks/sort")
+            .param("ingestion", "streaming")
+            .param("view", "indices")
+            .contentType(MediaType.APPLICATION_CBOR)
+            .accept(MediaType.APPLICATION_CBOR)
+            .content(cborMapper.writeValueAsBytes(givenTasksRequest())))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    assertThat(cborMapper.readValue(mvcResult.getResponse().getContentAsByteArray(), int[].class),
+        equalTo(new int[]{1, 2, 0}));
+    verify(service, times(1)).sortTaskIndices(any(IndexedTasksGraph.class), isNull());
   }
 
   @Test
@@ -75,18 +321,25 @@ public class TaskControllerTest {
       throws Exception {
     final TasksRequest tasksRequest = givenTasksRequest();
 
-    final List<Task> unsortedTasks = givenUnsortedTasks();
     final List<Task> tasks = givenSortedTasks();
-    when(service.sortTasks(unsortedTasks)).thenReturn(tasks);
+    when(service.fingerprint(any(IndexedTasksGraph.class), isNull())).thenReturn(FINGERPRINT);
+    when(service.sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), isNull()))
+        .thenReturn(tasks);
 
     final String expectedTasksResponse = givenTasksResponseAsBashScript();
-    mvc.perform(post("/tasks/sort-commands")
+    final MvcResult mvcResult = mvc.perform(post("/tasks/sort-commands")
             .contentType("application/json")
             .content(objectMapper.writeValueAsString(tasksRequest)))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mvc.perform(asyncDispatch(mvcResult))
         .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"" + FINGERPRINT + "-bash\""))
         .andExpect(content().bytes(expectedTasksResponse.getBytes(StandardCharsets.UTF_8)));
 
-    verify(service, times(1)).sortTasks(unsortedTasks);
+    verify(service, times(1)).sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), isNull());
   }
 
   @ParameterizedTest
@@ -95,15 +348,39 @@ public class TaskControllerTest {
       throws Exception {
     final TasksRequest tasksRequest = givenTasksRequestWithCircularDependency();
 
-    final List<Task> unsortedTasks = givenUnsortedTasksWithCircularDependency();
-    when(service.sortTasks(unsortedTasks)).thenThrow(new CircularDependencyDetectedException());
+    when(service.fingerprint(any(IndexedTasksGraph.class), isNull())).thenReturn(FINGERPRINT);
+    when(service.sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), isNull()))
+        .thenThrow(new CircularDependencyDetectedException());
 
     mvc.perform(post(route)
             .contentType("application/json")
             .content(objectMapper.writeValueAsString(tasksRequest)))
         .andExpect(status().isBadRequest());
 
-    verify(service, times(1)).sortTasks(unsortedTasks);
+    verify(service, times(1)).sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), isNull());
+  }
+
+  @Test
+  void givenTasksWithCircularDependency_whenSorting_thenReturnTheCycle() throws Exception {
+    final TasksRequest tasksRequest = givenTasksRequestWithCircularDependency();
+
+    when(service.fingerprint(any(IndexedTasksGraph.class), isNull())).thenReturn(FINGERPRINT);
+    when(service.sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), isNull()))
+        .thenThrow(new CircularDependencyDetectedException(Collections.singletonList(
+            new DependencyCycle(Arrays.asList(TASK_1_NAME, TASK_2_NAME, TASK_1_NAME), 2,
+                Arrays.asList(TASK_1_NAME, TASK_2_NAME))), false));
+
+    mvc.perform(post("/tasks/sort")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(tasksRequest)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.cycles[0].cycle[0]").value(TASK_1_NAME))
+        .andExpect(jsonPath("$.cycles[0].cycle[1]").value(TASK_2_NAME))
+        .andExpect(jsonPath("$.cycles[0].componentSize").value(2))
+        .andExpect(jsonPath("$.truncated").value(false));
   }
 
   @ParameterizedTest
@@ -120,6 +397,310 @@ public class TaskControllerTest {
     verifyNoInteractions(service);
   }
 
+  @Test
+  void givenStreamedTasks_whenSorting_thenReturnTasksSorted()
+      throws Exception {
+    final TasksRequest tasksRequest = givenTasksRequest();
+
+    when(service.sortTasks(any(IndexedTasksGraph.class), isNull()))
+        .thenReturn(givenSortedTasks());
+
+    final List<TaskResponse> expectedTasksResponse = givenTasksResponse();
+    mvc.perform(post("/tasks/sort")
+            .param("ingestion", "streaming")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(tasksRequest)))
+        .andExpect(status().isOk())
+        .andExpect(responseBody().containsObjectsAsJson(expected(expectedTasksResponse),
+            TaskResponse.class));
+
+    verify(service, times(1)).sortTasks(any(IndexedTasksGraph.class), isNull());
+  }
+
+  @Test
+  void givenStreamedTasks_whenSortingToBashScript_thenReturnTasksSorted()
+      throws Exception {
+    final TasksRequest tasksRequest = givenTasksRequest();
+
+    when(service.sortTasks(any(IndexedTasksGraph.class), isNull()))
+        .thenReturn(givenSortedTasks());
+
+    final String expectedTasksResponse = givenTasksResponseAsBashScript();
+    final MvcResult mvcResult = mvc.perform(post("/tasks/sort-commands")
+            .param("ingestion", "streaming")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(tasksRequest)))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(expectedTasksResponse.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"/tasks/sort", "/tasks/sort-commands"})
+  void givenStreamedTasksWithInvalidPrerequisites_whenSorting_thenReturnBadRequest(
+      final String route) throws Exception {
+    final TasksRequest tasksRequest = givenTasksRequestWithInvalidPrerequisites();
+
+    mvc.perform(post(route)
+            .param("ingestion", "streaming")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(tasksRequest)))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"/tasks/sort", "/tasks/sort-commands"})
+  void givenMalformedStreamedTasks_whenSorting_thenReturnBadRequest(final String route)
+      throws Exception {
+    mvc.perform(post(route)
+            .param("ingestion", "streaming")
+            .contentType("application/json")
+            .content("{\"tasks\": [{\"name\": \"task-1\""))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "{\"tasks\": [{\"name\": \"task-1\", \"command\": \"echo 1\"}]",
+      "{\"tasks\": [{\"name\": \"task-1\", \"command\": \"echo 1\"}]} {}",
+      "{\"tasks\": []} {\"tasks\": []}"})
+  void givenTruncatedOrTrailingStreamedBody_whenSorting_thenReturnBadRequest(final String body)
+      throws Exception {
+    mvc.perform(post("/tasks/sort")
+            .param("ingestion", "streaming")
+            .contentType("application/json")
+            .content(body))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "{\"tasks\": [{\"name\": \"task-2\", \"command\": \"echo 2\", "
+          + "\"requires\": [\"task-1\", [\"task-3\"]]}]}",
+      "{\"tasks\": [{\"name\": \"task-2\", \"command\": \"echo 2\", "
+          + "\"requires\": \"task-1\"}]}",
+      "{\"tasks\": [{\"name\": {\"name\": \"task-1\"}, \"command\": \"echo 1\"}]}",
+      "{\"tasks\": [{\"name\": \"task-1\", \"command\": [\"echo 1\"]}]}",
+      "{\"tasks\": [], \"targets\": \"task-1\"}"})
+  void givenWronglyTypedStreamedValue_whenSorting_thenReturnBadRequest(final String body)
+      throws Exception {
+    mvc.perform(post("/tasks/sort")
+            .param("ingestion", "streaming")
+            .contentType("application/json")
+            .content(body))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"/tasks/sort", "/tasks/sort-commands", "/tasks/levels",
+      "/tasks/critical-path", "/tasks/schedule", "/tasks/reduce", "/tasks/analyze"})
+  void givenTasksWithDuplicateNames_whenSorting_thenReturnBadRequest(final String route)
+      throws Exception {
+    final TasksRequest tasksRequest = new TasksRequest(Arrays.asList(
+        new TaskRequest(TASK_1_NAME, TASK_1_COMMAND, Collections.emptyList()),
+        new TaskRequest(TASK_1_NAME, TASK_2_COMMAND, Collections.emptyList())));
+
+    mvc.perform(post(route)
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(tasksRequest)))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  void givenTasksWithInvalidPrerequisites_whenLevelling_thenReturnBadRequest() throws Exception {
+    mvc.perform(post("/tasks/levels")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequestWithInvalidPrerequisites())))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  void givenTasks_whenLevelling_thenReturnTasksGroupedByLevel() throws Exception {
+    final TasksRequest tasksRequest = givenTasksRequest();
+
+    when(service.levelTasks(any(IndexedTasksGraph.class))).thenReturn(givenLevelledTasks());
+
+    mvc.perform(post("/tasks/levels")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(tasksRequest)))
+        .andExpect(status().isOk())
+        .andExpect(content().json(objectMapper.writeValueAsString(Arrays.asList(
+            Arrays.asList(new TaskResponse(TASK_1_NAME, TASK_1_COMMAND),
+                new TaskResponse(TASK_2_NAME, TASK_2_COMMAND)),
+            Collections.singletonList(new TaskResponse(TASK_3_NAME, TASK_3_COMMAND))))));
+
+    verify(service, times(1)).levelTasks(any(IndexedTasksGraph.class));
+  }
+
+  @Test
+  void givenTasks_whenLevellingToBashScriptWithMaxParallelism_thenReturnParallelScript()
+      throws Exception {
+    final TasksRequest tasksRequest = givenTasksRequest();
+
+    when(service.levelTasks(any(IndexedTasksGraph.class))).thenReturn(givenLevelledTasks());
+
+    final String expectedTasksResponse = BASH_COMMENT + "\n\n"
+        + "( " + TASK_1_COMMAND + "\n) &\n"
+        + "wait\n"
+        + "( " + TASK_2_COMMAND + "\n) &\n"
+        + "wait\n\n"
+        + TASK_3_COMMAND + "\n";
+    final MvcResult mvcResult = mvc.perform(post("/tasks/levels-commands")
+            .param("maxParallelism", "1")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(tasksRequest)))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+    mvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andExpect(content().bytes(expectedTasksResponse.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void givenTasks_whenAnalyzing_thenReturnGraphProfile() throws Exception {
+    when(service.analyzeGraph(any(IndexedTasksGraph.class)))
+        .thenReturn(new GraphAnalysis(3, 2, 2, List.of(2, 1), 2, 1, 1));
+
+    mvc.perform(post("/tasks/analyze")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.tasks").value(3))
+        .andExpect(jsonPath("$.edges").value(2))
+        .andExpect(jsonPath("$.longestPath").value(2))
+        .andExpect(jsonPath("$.maxWidth").value(2))
+        .andExpect(jsonPath("$.levelWidths[0]").value(2))
+        .andExpect(jsonPath("$.levelWidths[1]").value(1))
+        .andExpect(jsonPath("$.maxFanIn").value(2))
+        .andExpect(jsonPath("$.maxFanOut").value(1))
+        .andExpect(jsonPath("$.components").value(1))
+        .andExpect(jsonPath("$.maxSpeedup").value(1.5));
+
+    verify(service, times(1)).analyzeGraph(any(IndexedTasksGraph.class));
+  }
+
+  @Test
+  void givenTasks_whenReducing_thenReturnReducedPrerequisites() throws Exception {
+    final IndexedTasksGraph reducedGraph = new IndexedTasksGraph(Arrays.asList(
+        new Task(TASK_1_NAME, TASK_1_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_2_COMMAND, Set.of(TASK_1_NAME)),
+        new Task(TASK_3_NAME, TASK_3_COMMAND, Set.of(TASK_2_NAME))));
+
+    when(service.reduceTasks(any(IndexedTasksGraph.class)))
+        .thenReturn(new TransitiveReduction(reducedGraph, 1));
+
+    mvc.perform(post("/tasks/reduce")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.edgeCount").value(2))
+        .andExpect(jsonPath("$.removedEdges").value(1))
+        .andExpect(jsonPath("$.tasks[0].name").value(TASK_1_NAME))
+        .andExpect(jsonPath("$.tasks[0].requires").isEmpty())
+        .andExpect(jsonPath("$.tasks[2].command").value(TASK_3_COMMAND))
+        .andExpect(jsonPath("$.tasks[2].requires[0]").value(TASK_2_NAME));
+
+    verify(service, times(1)).reduceTasks(any(IndexedTasksGraph.class));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0", "1025", "2000000000"})
+  void givenWorkersOutOfRange_whenScheduling_thenReturnBadRequest(final String workers)
+      throws Exception {
+    mvc.perform(post("/tasks/schedule")
+            .param("workers", workers)
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  @Test
+  void givenInvalidMaxParallelism_whenLevellingToBashScript_thenReturnBadRequest()
+      throws Exception {
+    mvc.perform(post("/tasks/levels-commands")
+            .param("maxParallelism", "0")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(service);
+  }
+
+  private List<List<Task>> givenLevelledTasks() {
+    return Arrays.asList(
+        Arrays.asList(
+            new Task(TASK_1_NAME, TASK_1_COMMAND, Collections.emptySet()),
+            new Task(TASK_2_NAME, TASK_2_COMMAND, Collections.emptySet())),
+        Collections.singletonList(
+            new Task(TASK_3_NAME, TASK_3_COMMAND, new HashSet<>(TASK_REQUIREMENTS))));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"/tasks/sort, tasks", "/tasks/sort?view=indices, indices",
+      "/tasks/sort-commands, bash"})
+  void givenMatchingETag_whenSorting_thenReturnPreconditionFailedWithoutSorting(
+      final String route, final String representation) throws Exception {
+    when(service.fingerprint(any(IndexedTasksGraph.class), isNull())).thenReturn(FINGERPRINT);
+
+    mvc.perform(post(route)
+            .header("If-None-Match", "\"" + FINGERPRINT + "-" + representation + "\"")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isPreconditionFailed());
+
+    verify(service, never()).sortTasksCached(any(), any(), any());
+  }
+
+  @Test
+  void givenETagOfAnotherRepresentation_whenSorting_thenSortTasks() throws Exception {
+    when(service.fingerprint(any(IndexedTasksGraph.class), isNull())).thenReturn(FINGERPRINT);
+    when(service.sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), isNull()))
+        .thenReturn(givenSortedTasks());
+
+    mvc.perform(post("/tasks/sort")
+            .header("If-None-Match", "\"" + FINGERPRINT + "-bash\"")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isOk());
+
+    verify(service, times(1)).sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), isNull());
+  }
+
+  @Test
+  void givenETagOfAnotherTaskSet_whenSorting_thenSortTasks() throws Exception {
+    when(service.fingerprint(any(IndexedTasksGraph.class), isNull())).thenReturn(FINGERPRINT);
+    when(service.sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), isNull()))
+        .thenReturn(givenSortedTasks());
+
+    mvc.perform(post("/tasks/sort")
+            .header("If-None-Match", "\"stale-fingerprint-tasks\"")
+            .contentType("application/json")
+            .content(objectMapper.writeValueAsString(givenTasksRequest())))
+        .andExpect(status().isOk());
+
+    verify(service, times(1)).sortTasksCached(eq(FINGERPRINT),
+        any(IndexedTasksGraph.class), isNull());
+  }
+
   private TasksRequest givenTasksRequestWithInvalidPrerequisites() {
     return new TasksRequest(Arrays.asList(
         new TaskRequest(TASK_2_NAME, TASK_2_COMMAND,
@@ -128,11 +709,13 @@ public class TaskControllerTest {
         new TaskRequest(TASK_3_NAME, TASK_3_COMMAND, Collections.emptyList())));
   }
 
-  private List<Task> givenUnsortedTasksWithCircularDependency() {
-    return Arrays.asList(
-        new Task(TASK_2_NAME, TASK_2_COMMAND, Collections.singleton(TASK_1_NAME)),
-        new Task(TASK_1_NAME, TASK_1_COMMAND, Collections.singleton(TASK_2_NAME)),
-        new Task(TASK_3_NAME, TASK_3_COMMAND, Collections.emptySet()));
+  private TasksRequest givenTasksRequestWithTargets() {
+    return new TasksRequest(Arrays.asList(
+        new TaskRequest(TASK_1_NAME, TASK_1_COMMAND, Collections.emptyList()),
+        new TaskRequest(TASK_2_NAME, TASK_2_COMMAND,
+            Collections.singletonList("invalid-task-name")),
+        new TaskRequest(TASK_3_NAME, TASK_3_COMMAND, Collections.singletonList(TASK_1_NAME))),
+        List.of(TASK_3_NAME));
   }
 
   private TasksRequest givenTasksRequestWithCircularDependency() {
@@ -149,13 +732,6 @@ public class TaskControllerTest {
         new Task(TASK_3_NAME, TASK_3_COMMAND, new HashSet<>(TASK_REQUIREMENTS)));
   }
 
-  private List<Task> givenUnsortedTasks() {
-    return Arrays.asList(
-        new Task(TASK_3_NAME, TASK_3_COMMAND, new HashSet<>(TASK_REQUIREMENTS)),
-        new Task(TASK_1_NAME, TASK_1_COMMAND, Collections.emptySet()),
-        new Task(TASK_2_NAME, TASK_2_COMMAND, Collections.emptySet()));
-  }
-
   private TasksRequest givenTasksRequest() {
     return new TasksRequest(Arrays.asList(
         new TaskRequest(TASK_3_NAME, TASK_3_COMMAND, TASK_REQUIREMENTS),
@@ -0,0 +1,139 @@
+package com.krterziev.jobprocessor.execution;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class TasksExecutorTest {
+
+  private static final String TASK_1_NAME = "task-1";
+  private static final String TASK_2_NAME = "task-2";
+  private static final String TASK_3_NAME = "task-3";
+  private static final String TASK_4_NAME = "task-4";
+  private static final Duration TASK_TIMEOUT = Duration.ofMinutes(1);
+
+  @Test
+  void givenSucceedingTasks_whenExecuting_thenAllTasksSucceed()
+      throws InvalidTasksException, CircularDependencyDetectedException, InterruptedException {
+    final TasksExecutor executor = new TasksExecutor(new IndexedTasksGraph(Arrays.asList(
+        new Task(TASK_1_NAME, "true", Collections.emptySet()),
+        new Task(TASK_2_NAME, "true", Set.of(TASK_1_NAME)),
+        new Task(TASK_3_NAME, "exit 0", Set.of(TASK_1_NAME, TASK_2_NAME)))),
+        2, FailurePolicy.FAIL_FAST, TASK_TIMEOUT);
+
+    final ExecutionResult result = executor.execute();
+
+    assertThat(result.succeeded(), equalTo(true));
+    assertThat(statuses(result), equalTo(Arrays.asList(TaskExecutionStatus.SUCCEEDED,
+        TaskExecutionStatus.SUCCEEDED, TaskExecutionStatus.SUCCEEDED)));
+    assertThat(result.tasks().get(2).exitCode(), equalTo(0));
+  }
+
+  @Test
+  void givenFailingTask_whenExecutingWithContinuePolicy_thenSkipOnlyItsDependents()
+      throws InvalidTasksException, CircularDependencyDetectedException, InterruptedException {
+    final TasksExecutor executor = new TasksExecutor(new IndexedTasksGraph(Arrays.asList(
+        new Task(TASK_1_NAME, "exit 3", Collections.emptySet()),
+        new Task(TASK_2_NAME, "true", Set.of(TASK_1_NAME)),
+        new Task(TASK_3_NAME, "true", Set.of(TASK_2_NAME)),
+        new Task(TASK_4_NAME, "sleep 0.2", Collections.emptySet()))),
+        2, FailurePolicy.CONTINUE, TASK_TIMEOUT);
+
+    final ExecutionResult result = executor.execute();
+
+    assertThat(result.succeeded(), equalTo(false));
+    assertThat(statuses(result), equalTo(Arrays.asList(TaskExecutionStatus.FAILED,
+        TaskExecutionStatus.SKIPPED, TaskExecutionStatus.SKIPPED, TaskExecutionStatus.SUCCEEDED)));
+    assertThat(result.tasks().get(0).exitCode(), equalTo(3));
+  }
+
+  @Test
+  void givenFailingTask_whenExecutingWithFailFastPolicy_thenCancelRunningTasks()
+      throws InvalidTasksException, CircularDependencyDetectedException, InterruptedException {
+    final TasksExecutor executor = new TasksExecutor(new IndexedTasksGraph(Arrays.asList(
+        new Task(TASK_1_NAME, "sleep 0.2; false", Collections.emptySet()),
+        new Task(TASK_2_NAME, "sleep 30", Collections.emptySet()),
+        new Task(TASK_3_NAME, "true", Set.of(TASK_2_NAME)))),
+        2, FailurePolicy.FAIL_FAST, TASK_TIMEOUT);
+
+    final ExecutionResult result = executor.execute();
+
+    assertThat(result.succeeded(), equalTo(false));
+    assertThat(statuses(result), equalTo(Arrays.asList(TaskExecutionStatus.FAILED,
+        TaskExecutionStatus.CANCELLED, TaskExecutionStatus.SKIPPED)));
+    assertThat(result.durationMs(), lessThan(10_000L));
+  }
+
+  @Test
+  void givenTaskExceedingTimeout_whenExecuting_thenKillItAndReportTimedOut()
+      throws InvalidTasksException, CircularDependencyDetectedException, InterruptedException {
+    final TasksExecutor executor = new TasksExecutor(new IndexedTasksGraph(Arrays.asList(
+        new Task(TASK_1_NAME, "sleep 30", Collections.emptySet()),
+        new Task(TASK_2_NAME, "true", Set.of(TASK_1_NAME)),
+        new Task(TASK_3_NAME, "true", Collections.emptySet()))),
+        2, FailurePolicy.CONTINUE, Duration.ofMillis(200));
+
+    final ExecutionResult result = executor.execute();
+
+    assertThat(result.succeeded(), equalTo(false));
+    assertThat(statuses(result), equalTo(Arrays.asList(TaskExecutionStatus.TIMED_OUT,
+        TaskExecutionStatus.SKIPPED, TaskExecutionStatus.SUCCEEDED)));
+    assertThat(result.tasks().get(0).exitCode(), equalTo(null));
+    assertThat(result.durationMs(), lessThan(10_000L));
+  }
+
+  @Test
+  void givenIndependentTasks_whenExecutingConcurrently_thenRunThemInParallel()
+      throws InvalidTasksException, CircularDependencyDetectedException, InterruptedException {
+    final TasksExecutor executor = new TasksExecutor(new IndexedTasksGraph(Arrays.asList(
+        new Task(TASK_1_NAME, "sleep 1", Collections.emptySet()),
+        new Task(TASK_2_NAME, "sleep 1", Collections.emptySet()),
+        new Task(TASK_3_NAME, "sleep 1", Collections.emptySet()),
+        new Task(TASK_4_NAME, "sleep 1", Collections.emptySet()))),
+        4, FailurePolicy.FAIL_FAST, TASK_TIMEOUT);
+
+    final ExecutionResult result = executor.execute();
+
+    assertThat(result.succeeded(), equalTo(true));
+    assertThat(result.durationMs(), lessThan(3_500L));
+  }
+
+  @Test
+  void givenCircularDependency_whenExecuting_thenThrowWithoutRunningAnything() {
+    final TasksExecutor executor = new TasksExecutor(new IndexedTasksGraph(Arrays.asList(
+        new Task(TASK_1_NAME, "true", Set.of(TASK_2_NAME)),
+        new Task(TASK_2_NAME, "true", Set.of(TASK_1_NAME)))),
+        1, FailurePolicy.FAIL_FAST, TASK_TIMEOUT);
+
+    assertThrows(CircularDependencyDetectedException.class, executor::execute);
+  }
+
+  @Test
+  void givenTaskWithoutCommand_whenExecuting_thenThrowWithoutRunningAnything() {
+    final TasksExecutor executor = new TasksExecutor(new IndexedTasksGraph(Arrays.asList(
+        new Task(TASK_1_NAME, "true", Collections.emptySet()),
+        new Task(TASK_2_NAME, null, Set.of(TASK_1_NAME)))),
+        1, FailurePolicy.FAIL_FAST, TASK_TIMEOUT);
+
+    final InvalidTasksException exception = assertThrows(InvalidTasksException.class,
+        executor::execute);
+
+    assertThat(exception.getMessage(), equalTo("Task task-2 has no command."));
+  }
+
+  private static List<TaskExecutionStatus> statuses(final ExecutionResult result) {
+    return result.tasks().stream().map(TaskExecutionResult::status).toList();
+  }
+}
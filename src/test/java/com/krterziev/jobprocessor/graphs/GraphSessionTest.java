@@ -0,0 +1,82 @@
+package com.krterziev.jobprocessor.graphs;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.scheduling.DynamicTasksGraph;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GraphSessionTest {
+
+  private static final String TASK_1_NAME = "task-1";
+  private static final String TASK_2_NAME = "task-2";
+  private static final String TASK_3_NAME = "task-3";
+  private static final String TASK_4_NAME = "task-4";
+  private static final String TASK_COMMAND = "task command";
+  private static final String NEW_COMMAND = "new command";
+
+  private GraphSession session;
+
+  @BeforeEach
+  void setUp() throws CircularDependencyDetectedException, InvalidTasksException {
+    session = new GraphSession("graph-1", DynamicTasksGraph.of(Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Set.of(TASK_1_NAME)),
+        new Task(TASK_3_NAME, TASK_COMMAND, Set.of(TASK_2_NAME)))));
+  }
+
+  @Test
+  void givenPatch_whenApplying_thenReplaceAddAndRemoveTasks()
+      throws CircularDependencyDetectedException, InvalidTasksException {
+    session.apply(Arrays.asList(
+            new Task(TASK_4_NAME, TASK_COMMAND, Set.of(TASK_1_NAME)),
+            new Task(TASK_3_NAME, NEW_COMMAND, Set.of(TASK_4_NAME))),
+        Collections.singletonList(TASK_2_NAME));
+
+    assertThat(names(session.sort()), equalTo(Arrays.asList(TASK_1_NAME, TASK_4_NAME, TASK_3_NAME)));
+    assertThat(session.sort().get(2).command(), equalTo(NEW_COMMAND));
+    assertThat(session.edgeCount(), equalTo(2));
+  }
+
+  @Test
+  void givenPatchClosingCycle_whenApplying_thenRollBackTheWholePatch() {
+    assertThrows(CircularDependencyDetectedException.class, () -> session.apply(Arrays.asList(
+            new Task(TASK_4_NAME, TASK_COMMAND, Set.of(TASK_3_NAME)),
+            new Task(TASK_1_NAME, NEW_COMMAND, Set.of(TASK_4_NAME))),
+        Collections.emptyList()));
+
+    assertThat(names(session.sort()), equalTo(Arrays.asList(TASK_1_NAME, TASK_2_NAME, TASK_3_NAME)));
+    assertThat(session.sort().get(0).command(), equalTo(TASK_COMMAND));
+    assertThat(session.edgeCount(), equalTo(2));
+  }
+
+  @Test
+  void givenRemovalOfRequiredTask_whenApplying_thenThrow() {
+    assertThrows(InvalidTasksException.class,
+        () -> session.apply(Collections.emptyList(), Collections.singletonList(TASK_2_NAME)));
+
+    assertThat(session.size(), equalTo(3));
+  }
+
+  @Test
+  void givenUnknownPrerequisite_whenApplying_thenThrow() {
+    assertThrows(InvalidTasksException.class, () -> session.apply(
+        Collections.singletonList(new Task(TASK_4_NAME, TASK_COMMAND, Set.of("unknown-task"))),
+        Collections.emptyList()));
+
+    assertThat(session.size(), equalTo(3));
+  }
+
+  private static List<String> names(final List<Task> tasks) {
+    return tasks.stream().map(Task::name).toList();
+  }
+}
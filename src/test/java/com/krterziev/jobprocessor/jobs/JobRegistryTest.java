@@ -0,0 +1,119 @@
+package com.krterziev.jobprocessor.jobs;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+
+public class JobRegistryTest {
+
+  @Test
+  void givenRegisteredJob_whenFinding_thenReturnIt() {
+    final JobRegistry registry = new JobRegistry(10, Duration.ofHours(1));
+
+    final Job job = registry.register(JobType.SORT);
+
+    assertThat(registry.find(job.id()).orElseThrow(), equalTo(job));
+    assertThat(job.status(), equalTo(JobStatus.QUEUED));
+  }
+
+  @Test
+  void givenFullRegistry_whenRegistering_thenEvictOldestFinishedJob() {
+    final JobRegistry registry = new JobRegistry(2, Duration.ofHours(1));
+    final Job first = registry.register(JobType.SORT);
+    final Job second = registry.register(JobType.SORT);
+    first.succeed("done");
+
+    final Job third = registry.register(JobType.SORT);
+
+    assertThat(registry.find(first.id()).isPresent(), equalTo(false));
+    assertThat(registry.find(second.id()).isPresent(), equalTo(true));
+    assertThat(registry.find(third.id()).isPresent(), equalTo(true));
+  }
+
+  @Test
+  void givenFullRegistryOfRunningJobs_whenRegistering_thenReject() {
+    final JobRegistry registry = new JobRegistry(2, Duration.ofHours(1));
+    registry.register(JobType.SORT).start();
+    registry.register(JobType.EXECUTE).start();
+
+    assertThrows(RejectedExecutionException.class, () -> registry.register(JobType.SORT));
+  }
+
+  @Test
+  void givenConcurrentSubmissions_whenRegistering_thenNeverExceedMaxJobs() throws Exception {
+    final JobRegistry registry = new JobRegistry(10, Duration.ofHours(1));
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Future<Boolean>> submissions = new ArrayList<>();
+    try {
+      for (int submission = 0; submission < 200; submission++) {
+        submissions.add(executor.submit(() -> {
+          start.await();
+          try {
+            registry.register(JobType.SORT);
+            return true;
+          } catch (final RejectedExecutionException e) {
+            return false;
+          }
+        }));
+      }
+      start.countDown();
+      int registered = 0;
+      for (final Future<Boolean> submission : submissions) {
+        registered += submission.get() ? 1 : 0;
+      }
+
+      assertThat(registered, equalTo(10));
+      assertThat(registry.size(), equalTo(10));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void givenExpiredFinishedJob_whenRegistering_thenEvictIt() {
+    final JobRegistry registry = new JobRegistry(10, Duration.ZERO);
+    final Job finished = registry.register(JobType.SORT);
+    finished.fail("failed");
+    final Job running = registry.register(JobType.SORT);
+    running.start();
+
+    registry.register(JobType.SORT);
+
+    assertThat(registry.find(finished.id()).isPresent(), equalTo(false));
+    assertThat(registry.find(running.id()).isPresent(), equalTo(true));
+  }
+
+  @Test
+  void givenListener_whenJobProgressesAndCompletes_thenNotifyIt() {
+    final Job job = new JobRegistry(10, Duration.ofHours(1)).register(JobType.EXECUTE);
+    final List<Object> events = new ArrayList<>();
+    job.addListener(new JobListener() {
+      @Override
+      public void onProgress(final Job updatedJob, final Object event) {
+        events.add(event);
+      }
+
+      @Override
+      public void onCompleted(final Job completedJob) {
+        events.add(completedJob.status());
+      }
+    });
+
+    job.start();
+    job.progress("task-1");
+    job.succeed("result");
+
+    assertThat(events, equalTo(List.of("task-1", JobStatus.SUCCEEDED)));
+  }
+}
@@ -0,0 +1,80 @@
+package com.krterziev.jobprocessor.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.scheduling.IndexedTasksGraph;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SortMetricsTest {
+
+  private static final String TASK_COMMAND = "task command";
+
+  private SimpleMeterRegistry registry;
+  private SortMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    metrics = new SortMetrics(registry);
+  }
+
+  @Test
+  void givenPhase_whenRecord_thenPhaseTimerCountsIt() {
+    final int result = metrics.record(SortPhase.SORT, () -> 42);
+
+    assertThat(result, equalTo(42));
+    assertThat(registry.get("tasks.pipeline.phase").tag("phase", "sort").timer().count(),
+        equalTo(1L));
+    assertThat(registry.get("tasks.pipeline.phase").tag("phase", "build").timer().count(),
+        equalTo(0L));
+  }
+
+  @Test
+  void givenFailingPhase_whenRecord_thenExceptionIsRethrownAndPhaseIsTimed() {
+    assertThrows(InvalidTasksException.class, () -> metrics.record(SortPhase.BUILD, () -> {
+      throw new InvalidTasksException("invalid");
+    }));
+
+    assertThat(registry.get("tasks.pipeline.phase").tag("phase", "build").timer().count(),
+        equalTo(1L));
+  }
+
+  @Test
+  void givenGraph_whenRecordGraph_thenShapeIsRecorded() {
+    final IndexedTasksGraph graph = new IndexedTasksGraph(Arrays.asList(
+        new Task("task-1", TASK_COMMAND, Collections.emptySet()),
+        new Task("task-2", TASK_COMMAND, Set.of("task-1")),
+        new Task("task-3", TASK_COMMAND, Set.of("task-1"))));
+
+    metrics.recordGraph(graph);
+    metrics.recordDepth(2);
+
+    assertThat(registry.get("tasks.graph.tasks").summary().totalAmount(), equalTo(3.0));
+    assertThat(registry.get("tasks.graph.edges").summary().totalAmount(), equalTo(2.0));
+    assertThat(registry.get("tasks.graph.max-fan-out").summary().totalAmount(), equalTo(2.0));
+    assertThat(registry.get("tasks.graph.depth").summary().totalAmount(), equalTo(2.0));
+  }
+
+  @Test
+  void givenFailures_whenCounted_thenCountersAreTaggedByReason() {
+    metrics.cycleDetected();
+    metrics.validationFailed("constraint");
+    metrics.validationFailed("constraint");
+    metrics.validationFailed("malformed");
+
+    assertThat(registry.get("tasks.cycles.detected").counter().count(), equalTo(1.0));
+    assertThat(registry.get("tasks.validation.failures").tag("reason", "constraint").counter()
+        .count(), equalTo(2.0));
+    assertThat(registry.get("tasks.validation.failures").tag("reason", "malformed").counter()
+        .count(), equalTo(1.0));
+  }
+}
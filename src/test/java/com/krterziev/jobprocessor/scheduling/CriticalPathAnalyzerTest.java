@@ -0,0 +1,103 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.models.Task;
+import com.krterziev.jobprocessor.scheduling.CriticalPathAnalysis.TaskTiming;
+import com.krterziev.jobprocessor.scheduling.TaskSchedule.ScheduledTask;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class CriticalPathAnalyzerTest {
+
+  private static final String TASK_1_NAME = "task-1";
+  private static final String TASK_2_NAME = "task-2";
+  private static final String TASK_3_NAME = "task-3";
+  private static final String TASK_4_NAME = "task-4";
+  private static final String TASK_COMMAND = "task command";
+
+  @Test
+  void givenWeightedTasks_thenComputeCriticalPathAndSlack()
+      throws CircularDependencyDetectedException {
+    final CriticalPathAnalyzer analyzer = new CriticalPathAnalyzer(
+        new IndexedTasksGraph(givenWeightedTasks()));
+
+    final CriticalPathAnalysis analysis = analyzer.analyze();
+
+    assertThat(analysis.makespanMs(), equalTo(8L));
+    assertThat(names(analysis.criticalPath()),
+        equalTo(Arrays.asList(TASK_1_NAME, TASK_3_NAME, TASK_4_NAME)));
+    final TaskTiming taskTwoTiming = analysis.timings().stream()
+        .filter(timing -> timing.task().name().equals(TASK_2_NAME))
+        .findFirst()
+        .orElseThrow();
+    assertThat(taskTwoTiming.earliestStartMs(), equalTo(3L));
+    assertThat(taskTwoTiming.latestStartMs(), equalTo(5L));
+    assertThat(taskTwoTiming.slackMs(), equalTo(2L));
+    assertThat(taskTwoTiming.critical(), equalTo(false));
+  }
+
+  @Test
+  void givenTwoWorkers_thenScheduleCriticalTasksFirst() throws CircularDependencyDetectedException {
+    final CriticalPathAnalyzer analyzer = new CriticalPathAnalyzer(
+        new IndexedTasksGraph(givenWeightedTasks()));
+
+    final TaskSchedule schedule = analyzer.schedule(2);
+
+    assertThat(schedule.makespanMs(), equalTo(8L));
+    assertThat(schedule.tasks().stream().map(task -> task.task().name()).toList(),
+        equalTo(Arrays.asList(TASK_1_NAME, TASK_3_NAME, TASK_2_NAME, TASK_4_NAME)));
+    final ScheduledTask lastTask = schedule.tasks().get(3);
+    assertThat(lastTask.startMs(), equalTo(7L));
+    assertThat(lastTask.finishMs(), equalTo(8L));
+  }
+
+  @Test
+  void givenSingleWorker_thenMakespanIsTheSumOfDurations()
+      throws CircularDependencyDetectedException {
+    final CriticalPathAnalyzer analyzer = new CriticalPathAnalyzer(
+        new IndexedTasksGraph(givenWeightedTasks()));
+
+    final TaskSchedule schedule = analyzer.schedule(1);
+
+    assertThat(schedule.makespanMs(), equalTo(10L));
+  }
+
+  @Test
+  void givenMoreWorkersThanTasks_thenScheduleAsWithOneWorkerPerTask()
+      throws CircularDependencyDetectedException {
+    final CriticalPathAnalyzer analyzer = new CriticalPathAnalyzer(
+        new IndexedTasksGraph(givenWeightedTasks()));
+
+    final TaskSchedule schedule = analyzer.schedule(Integer.MAX_VALUE);
+
+    assertThat(schedule.workers(), equalTo(Integer.MAX_VALUE));
+    assertThat(schedule.tasks(), equalTo(analyzer.schedule(4).tasks()));
+  }
+
+  @Test
+  void givenTasksWithoutEstimates_thenTreatThemAsZeroLength()
+      throws CircularDependencyDetectedException {
+    final CriticalPathAnalyzer analyzer = new CriticalPathAnalyzer(new IndexedTasksGraph(
+        Collections.singletonList(new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()))));
+
+    assertThat(analyzer.analyze().makespanMs(), equalTo(0L));
+  }
+
+  private static List<Task> givenWeightedTasks() {
+    return Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet(), 3L),
+        new Task(TASK_2_NAME, TASK_COMMAND, Set.of(TASK_1_NAME), 2L),
+        new Task(TASK_3_NAME, TASK_COMMAND, Set.of(TASK_1_NAME), 4L),
+        new Task(TASK_4_NAME, TASK_COMMAND, Set.of(TASK_2_NAME, TASK_3_NAME), 1L));
+  }
+
+  private static List<String> names(final List<Task> tasks) {
+    return tasks.stream().map(Task::name).toList();
+  }
+}
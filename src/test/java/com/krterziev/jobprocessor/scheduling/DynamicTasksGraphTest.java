@@ -0,0 +1,155 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.Task;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class DynamicTasksGraphTest {
+
+  private static final String TASK_1_NAME = "task-1";
+  private static final String TASK_2_NAME = "task-2";
+  private static final String TASK_3_NAME = "task-3";
+  private static final String TASK_4_NAME = "task-4";
+  private static final String TASK_COMMAND = "task command";
+
+  @Test
+  void givenAcyclicTasks_whenLoading_thenKeepTopologicalOrder()
+      throws CircularDependencyDetectedException, InvalidTasksException {
+    final DynamicTasksGraph graph = DynamicTasksGraph.of(Arrays.asList(
+        new Task(TASK_3_NAME, TASK_COMMAND, Set.of(TASK_2_NAME)),
+        new Task(TASK_2_NAME, TASK_COMMAND, Set.of(TASK_1_NAME)),
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet())));
+
+    assertThat(names(graph.sort()), equalTo(Arrays.asList(TASK_1_NAME, TASK_2_NAME, TASK_3_NAME)));
+    assertThat(graph.edgeCount(), equalTo(2));
+  }
+
+  @Test
+  void givenBackwardDependency_whenAdding_thenReorderOnlyTheAffectedTasks()
+      throws CircularDependencyDetectedException, InvalidTasksException {
+    final DynamicTasksGraph graph = givenIndependentTasks(TASK_1_NAME, TASK_2_NAME, TASK_3_NAME,
+        TASK_4_NAME);
+
+    graph.addDependency(TASK_4_NAME, TASK_2_NAME);
+
+    assertThat(names(graph.sort()),
+        equalTo(Arrays.asList(TASK_1_NAME, TASK_4_NAME, TASK_3_NAME, TASK_2_NAME)));
+  }
+
+  @Test
+  void givenDependencyClosingCycle_whenAdding_thenRejectWithTheCycle()
+      throws CircularDependencyDetectedException, InvalidTasksException {
+    final DynamicTasksGraph graph = givenIndependentTasks(TASK_1_NAME, TASK_2_NAME, TASK_3_NAME);
+    graph.addDependency(TASK_1_NAME, TASK_2_NAME);
+    graph.addDependency(TASK_2_NAME, TASK_3_NAME);
+
+    final CircularDependencyDetectedException exception = assertThrows(
+        CircularDependencyDetectedException.class,
+        () -> graph.addDependency(TASK_3_NAME, TASK_1_NAME));
+
+    assertThat(exception.getCycles().get(0).cycle(),
+        equalTo(Arrays.asList(TASK_3_NAME, TASK_1_NAME, TASK_2_NAME, TASK_3_NAME)));
+    assertThat(graph.edgeCount(), equalTo(2));
+    assertThat(names(graph.sort()), equalTo(Arrays.asList(TASK_1_NAME, TASK_2_NAME, TASK_3_NAME)));
+  }
+
+  @Test
+  void givenTaskRequiringItself_whenAdding_thenReject()
+      throws CircularDependencyDetectedException, InvalidTasksException {
+    final DynamicTasksGraph graph = givenIndependentTasks(TASK_1_NAME);
+
+    assertThrows(CircularDependencyDetectedException.class,
+        () -> graph.addDependency(TASK_1_NAME, TASK_1_NAME));
+  }
+
+  @Test
+  void givenRemovedTask_whenSorting_thenLeaveItOutAndReuseItsSlot()
+      throws CircularDependencyDetectedException, InvalidTasksException {
+    final DynamicTasksGraph graph = givenIndependentTasks(TASK_1_NAME, TASK_2_NAME, TASK_3_NAME);
+    graph.addDependency(TASK_1_NAME, TASK_2_NAME);
+
+    graph.removeTask(TASK_2_NAME);
+    graph.addTask(new Task(TASK_4_NAME, TASK_COMMAND, Collections.emptySet()));
+
+    assertThat(names(graph.sort()), equalTo(Arrays.asList(TASK_1_NAME, TASK_3_NAME, TASK_4_NAME)));
+    assertThat(graph.edgeCount(), equalTo(0));
+  }
+
+  @Test
+  void givenExistingTask_whenAddingAgain_thenThrow()
+      throws CircularDependencyDetectedException, InvalidTasksException {
+    final DynamicTasksGraph graph = givenIndependentTasks(TASK_1_NAME);
+
+    assertThrows(InvalidTasksException.class,
+        () -> graph.addTask(new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet())));
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {1L, 7L, 42L})
+  void givenRandomEdits_thenEveryDependencyPointsForward(final long seed)
+      throws CircularDependencyDetectedException, InvalidTasksException {
+    final Random random = new Random(seed);
+    final int size = 100;
+    final DynamicTasksGraph graph = new DynamicTasksGraph();
+    for (int index = 0; index < size; index++) {
+      graph.addTask(new Task("task-" + index, TASK_COMMAND, Collections.emptySet()));
+    }
+
+    final Set<List<String>> dependencies = new HashSet<>();
+    for (int edit = 0; edit < 1000; edit++) {
+      final String prerequisite = "task-" + random.nextInt(size);
+      final String dependent = "task-" + random.nextInt(size);
+      if (random.nextInt(4) == 0) {
+        graph.removeDependency(prerequisite, dependent);
+        dependencies.remove(Arrays.asList(prerequisite, dependent));
+        continue;
+      }
+      try {
+        graph.addDependency(prerequisite, dependent);
+        dependencies.add(Arrays.asList(prerequisite, dependent));
+      } catch (final CircularDependencyDetectedException e) {
+        // rejected edits leave the graph unchanged
+      }
+    }
+
+    final Map<String, Integer> positions = new HashMap<>();
+    final List<Task> order = graph.sort();
+    for (int position = 0; position < order.size(); position++) {
+      positions.put(order.get(position).name(), position);
+    }
+    assertThat(order.size(), equalTo(size));
+    assertThat(graph.edgeCount(), equalTo(dependencies.size()));
+    for (final List<String> dependency : dependencies) {
+      assertThat(positions.get(dependency.get(0)), lessThan(positions.get(dependency.get(1))));
+    }
+  }
+
+  private static DynamicTasksGraph givenIndependentTasks(final String... names)
+      throws InvalidTasksException {
+    final DynamicTasksGraph graph = new DynamicTasksGraph();
+    for (final String name : names) {
+      graph.addTask(new Task(name, TASK_COMMAND, Collections.emptySet()));
+    }
+    return graph;
+  }
+
+  private static List<String> names(final List<Task> tasks) {
+    return tasks.stream().map(Task::name).toList();
+  }
+}
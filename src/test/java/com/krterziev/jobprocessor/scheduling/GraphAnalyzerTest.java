@@ -0,0 +1,76 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.models.Task;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class GraphAnalyzerTest {
+
+  private static final String TASK_COMMAND = "task command";
+
+  @Test
+  void givenTwoPipelines_whenAnalyzing_thenProfileTheirShape()
+      throws CircularDependencyDetectedException {
+    final GraphAnalysis analysis = GraphAnalyzer.analyze(new IndexedTasksGraph(Arrays.asList(
+        new Task("task-1", TASK_COMMAND, Collections.emptySet()),
+        new Task("task-2", TASK_COMMAND, Set.of("task-1")),
+        new Task("task-3", TASK_COMMAND, Set.of("task-1")),
+        new Task("task-4", TASK_COMMAND, Set.of("task-1")),
+        new Task("task-5", TASK_COMMAND, Set.of("task-2", "task-3", "task-4")),
+        new Task("task-6", TASK_COMMAND, Collections.emptySet()),
+        new Task("task-7", TASK_COMMAND, Set.of("task-6")))));
+
+    assertThat(analysis.tasks(), equalTo(7));
+    assertThat(analysis.edges(), equalTo(7));
+    assertThat(analysis.longestPath(), equalTo(3));
+    assertThat(analysis.levelWidths(), equalTo(List.of(2, 4, 1)));
+    assertThat(analysis.maxWidth(), equalTo(4));
+    assertThat(analysis.maxFanIn(), equalTo(3));
+    assertThat(analysis.maxFanOut(), equalTo(3));
+    assertThat(analysis.components(), equalTo(2));
+    assertThat(analysis.maxSpeedup(), equalTo(7.0 / 3));
+  }
+
+  @Test
+  void givenChain_whenAnalyzing_thenAllowNoSpeedup() throws CircularDependencyDetectedException {
+    final GraphAnalysis analysis = GraphAnalyzer.analyze(new IndexedTasksGraph(Arrays.asList(
+        new Task("task-1", TASK_COMMAND, Collections.emptySet()),
+        new Task("task-2", TASK_COMMAND, Set.of("task-1")),
+        new Task("task-3", TASK_COMMAND, Set.of("task-2")))));
+
+    assertThat(analysis.longestPath(), equalTo(3));
+    assertThat(analysis.maxWidth(), equalTo(1));
+    assertThat(analysis.components(), equalTo(1));
+    assertThat(analysis.maxSpeedup(), equalTo(1.0));
+  }
+
+  @Test
+  void givenNoTasks_whenAnalyzing_thenReturnEmptyProfile()
+      throws CircularDependencyDetectedException {
+    final GraphAnalysis analysis = GraphAnalyzer.analyze(
+        new IndexedTasksGraph(Collections.emptyList()));
+
+    assertThat(analysis.longestPath(), equalTo(0));
+    assertThat(analysis.levelWidths(), equalTo(List.of()));
+    assertThat(analysis.components(), equalTo(0));
+    assertThat(analysis.maxSpeedup(), equalTo(0.0));
+  }
+
+  @Test
+  void givenCycle_whenAnalyzing_thenReportIt() {
+    final IndexedTasksGraph graph = new IndexedTasksGraph(Arrays.asList(
+        new Task("task-1", TASK_COMMAND, Set.of("task-2")),
+        new Task("task-2", TASK_COMMAND, Set.of("task-1")),
+        new Task("task-3", TASK_COMMAND, Collections.emptySet())));
+
+    assertThrows(CircularDependencyDetectedException.class, () -> GraphAnalyzer.analyze(graph));
+  }
+}
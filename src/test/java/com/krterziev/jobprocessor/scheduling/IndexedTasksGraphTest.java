@@ -0,0 +1,419 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.models.DependencyCycle;
+import com.krterziev.jobprocessor.models.Task;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class IndexedTasksGraphTest {
+
+  private static final String TASK_1_NAME = "task-1";
+  private static final String TASK_2_NAME = "task-2";
+  private static final String TASK_3_NAME = "task-3";
+  private static final String TASK_4_NAME = "task-4";
+  private static final String TASK_5_NAME = "task-5";
+  private static final String TASK_6_NAME = "task-6";
+  private static final String TASK_7_NAME = "task-7";
+  private static final String TASK_COMMAND = "task command";
+
+  @Test
+  void givenZeroTasks_returnZeroTasks() throws CircularDependencyDetectedException {
+    final IndexedTasksGraph graph = new IndexedTasksGraph(Collections.emptyList());
+
+    assertThat(graph.sort(), equalTo(Collections.emptyList()));
+  }
+
+  @Test
+  void givenUnsortedMultipleTasks_thenSortInOrderWithoutMutatingTasks()
+      throws CircularDependencyDetectedException {
+    final Set<String> taskThreePrerequisites = new HashSet<>(
+        Arrays.asList(TASK_1_NAME, TASK_2_NAME));
+    final Task taskOne = new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet());
+    final Task taskTwo = new Task(TASK_2_NAME, TASK_COMMAND, Collections.emptySet());
+    final Task taskThree = new Task(TASK_3_NAME, TASK_COMMAND, taskThreePrerequisites);
+
+    final IndexedTasksGraph graph = new IndexedTasksGraph(
+        Arrays.asList(taskThree, taskOne, taskTwo));
+
+    assertThat(graph.sort(), equalTo(Arrays.asList(taskOne, taskTwo, taskThree)));
+    assertThat(taskThree.requires(), equalTo(Set.of(TASK_1_NAME, TASK_2_NAME)));
+  }
+
+  @Test
+  void givenTasksSortedTwice_thenReturnTheSameOrder() throws CircularDependencyDetectedException {
+    final List<Task> tasks = givenSevenTasksWithMultiplePrerequisites();
+
+    final IndexedTasksGraph graph = new IndexedTasksGraph(tasks);
+
+    assertThat(graph.sort(), equalTo(graph.sort()));
+  }
+
+  @Test
+  void givenMultipleTasksWithPrerequisitesContainingCircularDependency_thenThrow() {
+    final List<Task> tasks = Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Set.of(TASK_3_NAME)),
+        new Task(TASK_3_NAME, TASK_COMMAND, Set.of(TASK_2_NAME)),
+        new Task(TASK_4_NAME, TASK_COMMAND, Set.of(TASK_2_NAME, TASK_3_NAME)));
+
+    final IndexedTasksGraph graph = new IndexedTasksGraph(tasks);
+
+    assertThrows(CircularDependencyDetectedException.class, graph::sort);
+  }
+
+  @Test
+  void givenTasksWithCircularDependency_thenReportTheCycleButNotItsDependents() {
+    final List<Task> tasks = Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Set.of(TASK_1_NAME, TASK_4_NAME)),
+        new Task(TASK_3_NAME, TASK_COMMAND, Set.of(TASK_2_NAME)),
+        new Task(TASK_4_NAME, TASK_COMMAND, Set.of(TASK_3_NAME)),
+        new Task(TASK_5_NAME, TASK_COMMAND, Set.of(TASK_4_NAME)));
+
+    final CircularDependencyDetectedException exception = assertThrows(
+        CircularDependencyDetectedException.class, new IndexedTasksGraph(tasks)::sort);
+
+    assertThat(exception.getCycles().size(), equalTo(1));
+    final DependencyCycle cycle = exception.getCycles().get(0);
+    assertThat(cycle.componentSize(), equalTo(3));
+    assertThat(new HashSet<>(cycle.members()),
+        equalTo(Set.of(TASK_2_NAME, TASK_3_NAME, TASK_4_NAME)));
+    assertThat(cycle.cycle(), equalTo(
+        Arrays.asList(TASK_2_NAME, TASK_3_NAME, TASK_4_NAME, TASK_2_NAME)));
+    assertThat(exception.isTruncated(), equalTo(false));
+  }
+
+  @Test
+  void givenTaskRequiringItself_thenReportSelfLoop() {
+    final List<Task> tasks = Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Set.of(TASK_1_NAME)),
+        new Task(TASK_2_NAME, TASK_COMMAND, Set.of(TASK_1_NAME)));
+
+    final CircularDependencyDetectedException exception = assertThrows(
+        CircularDependencyDetectedException.class, new IndexedTasksGraph(tasks)::sort);
+
+    assertThat(exception.getCycles().size(), equalTo(1));
+    assertThat(exception.getCycles().get(0).cycle(),
+        equalTo(Arrays.asList(TASK_1_NAME, TASK_1_NAME)));
+  }
+
+  @Test
+  void givenManyDisjointCycles_thenCapTheReportedCycles() {
+    final CircularDependencyDetectedException exception = assertThrows(
+        CircularDependencyDetectedException.class,
+        new IndexedTasksGraph(givenDisjointCycles(20))::sort);
+
+    assertThat(exception.getCycles().size(), equalTo(10));
+    assertThat(exception.isTruncated(), equalTo(true));
+  }
+
+  @Test
+  void givenExactlyTenDisjointCycles_thenReportThemAllWithoutTruncation() {
+    final CircularDependencyDetectedException exception = assertThrows(
+        CircularDependencyDetectedException.class,
+        new IndexedTasksGraph(givenDisjointCycles(10))::sort);
+
+    assertThat(exception.getCycles().size(), equalTo(10));
+    assertThat(exception.isTruncated(), equalTo(false));
+  }
+
+  @Test
+  void givenElevenDisjointCycles_thenReportTruncation() {
+    final CircularDependencyDetectedException exception = assertThrows(
+        CircularDependencyDetectedException.class,
+        new IndexedTasksGraph(givenDisjointCycles(11))::sort);
+
+    assertThat(exception.getCycles().size(), equalTo(10));
+    assertThat(exception.isTruncated(), equalTo(true));
+  }
+
+  @Test
+  void givenLongChainEndingInCycle_thenFindCycleWithoutRecursion() {
+    final int size = 200_000;
+    final List<Task> tasks = new ArrayList<>(size);
+    tasks.add(new Task("task-0", TASK_COMMAND, Set.of("task-" + (size - 1))));
+    for (int index = 1; index < size; index++) {
+      tasks.add(new Task("task-" + index, TASK_COMMAND, Set.of("task-" + (index - 1))));
+    }
+
+    final CircularDependencyDetectedException exception = assertThrows(
+        CircularDependencyDetectedException.class, new IndexedTasksGraph(tasks)::sort);
+
+    assertThat(exception.getCycles().get(0).componentSize(), equalTo(size));
+    assertThat(exception.getCycles().get(0).members().size(), equalTo(50));
+  }
+
+  @Test
+  void givenTaskWithUnknownPrerequisite_thenThrowLikeTasksGraph() {
+    final List<Task> tasks = Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Set.of("unknown-task")));
+
+    assertThrows(CircularDependencyDetectedException.class, new TasksGraph(copy(tasks))::sort);
+    assertThrows(CircularDependencyDetectedException.class, new IndexedTasksGraph(tasks)::sort);
+  }
+
+  @Test
+  void givenSevenTasksWithMultiplePrerequisites_thenSortLikeTasksGraph()
+      throws CircularDependencyDetectedException {
+    final List<Task> tasks = givenSevenTasksWithMultiplePrerequisites();
+
+    assertThat(names(new IndexedTasksGraph(tasks).sort()),
+        equalTo(names(new TasksGraph(copy(tasks)).sort())));
+  }
+
+  @Test
+  void givenSevenTasksWithMultiplePrerequisites_thenGroupThemInLevels()
+      throws CircularDependencyDetectedException {
+    final IndexedTasksGraph graph = new IndexedTasksGraph(
+        givenSevenTasksWithMultiplePrerequisites());
+
+    final List<List<String>> levels = graph.levels().stream().map(IndexedTasksGraphTest::names)
+        .toList();
+
+    assertThat(levels, equalTo(Arrays.asList(
+        Arrays.asList(TASK_1_NAME, TASK_7_NAME),
+        Collections.singletonList(TASK_2_NAME),
+        Arrays.asList(TASK_3_NAME, TASK_6_NAME),
+        Arrays.asList(TASK_4_NAME, TASK_5_NAME))));
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {1L, 7L, 42L})
+  void givenRandomAcyclicGraph_thenEveryLevelOnlyDependsOnEarlierLevels(final long seed)
+      throws CircularDependencyDetectedException {
+    final List<Task> tasks = givenRandomAcyclicTasks(new Random(seed), 500, 4);
+
+    final List<List<Task>> levels = new IndexedTasksGraph(tasks).levels();
+
+    final Set<String> completed = new HashSet<>();
+    for (final List<Task> level : levels) {
+      for (final Task task : level) {
+        assertThat(completed.containsAll(task.requires()), equalTo(true));
+      }
+      level.forEach(task -> completed.add(task.name()));
+    }
+    assertThat(completed.size(), equalTo(tasks.size()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {1L, 7L, 42L, 1234L, 98765L})
+  void givenRandomAcyclicGraph_thenSortLikeTasksGraph(final long seed)
+      throws CircularDependencyDetectedException {
+    final List<Task> tasks = givenRandomAcyclicTasks(new Random(seed), 500, 4);
+
+    assertThat(names(new IndexedTasksGraph(tasks).sort()),
+        equalTo(names(new TasksGraph(copy(tasks)).sort())));
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {3L, 11L, 2023L})
+  void givenRandomGraphWithCycle_thenThrowLikeTasksGraph(final long seed) {
+    final List<Task> tasks = new ArrayList<>(givenRandomAcyclicTasks(new Random(seed), 200, 3));
+    final Task first = tasks.get(0);
+    final Task last = tasks.get(tasks.size() - 1);
+    final Set<String> firstPrerequisites = new HashSet<>(first.requires());
+    firstPrerequisites.add(last.name());
+    final Set<String> lastPrerequisites = new HashSet<>(last.requires());
+    lastPrerequisites.add(first.name());
+    tasks.set(0, new Task(first.name(), first.command(), firstPrerequisites));
+    tasks.set(tasks.size() - 1, new Task(last.name(), last.command(), lastPrerequisites));
+
+    assertThrows(CircularDependencyDetectedException.class, new TasksGraph(copy(tasks))::sort);
+    assertThrows(CircularDependencyDetectedException.class, new IndexedTasksGraph(tasks)::sort);
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {1L, 7L, 42L})
+  void givenReorderedTasks_whenSortingByName_thenReturnTheSameOrder(final long seed)
+      throws CircularDependencyDetectedException {
+    final List<Task> tasks = givenRandomAcyclicTasks(new Random(seed), 500, 4);
+    final List<Task> reorderedTasks = new ArrayList<>(tasks);
+    Collections.shuffle(reorderedTasks, new Random(seed + 1));
+
+    assertThat(names(new IndexedTasksGraph(reorderedTasks).sort(TieBreaker.NAME)),
+        equalTo(names(new IndexedTasksGraph(tasks).sort(TieBreaker.NAME))));
+  }
+
+  @Test
+  void givenReadyTasks_whenSortingByName_thenReturnSmallestNameFirst()
+      throws CircularDependencyDetectedException {
+    final List<Task> tasks = Arrays.asList(
+        new Task("c", TASK_COMMAND, Collections.emptySet()),
+        new Task("b", TASK_COMMAND, Set.of("c")),
+        new Task("d", TASK_COMMAND, Collections.emptySet()),
+        new Task("a", TASK_COMMAND, Set.of("d")));
+
+    assertThat(names(new IndexedTasksGraph(tasks).sort(TieBreaker.NAME)),
+        equalTo(Arrays.asList("c", "b", "d", "a")));
+  }
+
+  @Test
+  void givenPriorities_whenSortingByPriority_thenReturnHighestPriorityFirst()
+      throws CircularDependencyDetectedException {
+    final List<Task> tasks = Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet(), null, 1),
+        new Task(TASK_2_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_3_NAME, TASK_COMMAND, Set.of(TASK_2_NAME), null, 5),
+        new Task(TASK_4_NAME, TASK_COMMAND, Collections.emptySet(), null, Integer.MIN_VALUE),
+        new Task(TASK_5_NAME, TASK_COMMAND, Collections.emptySet(), null, Integer.MAX_VALUE));
+
+    assertThat(names(new IndexedTasksGraph(tasks).sort(TieBreaker.PRIORITY)),
+        equalTo(Arrays.asList(TASK_5_NAME, TASK_1_NAME, TASK_2_NAME, TASK_3_NAME, TASK_4_NAME)));
+  }
+
+  @Test
+  void givenFanOut_whenSortingByFanOut_thenReturnTaskWithMostDependentsFirst()
+      throws CircularDependencyDetectedException {
+    final List<Task> tasks = Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_3_NAME, TASK_COMMAND, Set.of(TASK_2_NAME)),
+        new Task(TASK_4_NAME, TASK_COMMAND, Set.of(TASK_2_NAME, TASK_1_NAME)),
+        new Task(TASK_5_NAME, TASK_COMMAND, Set.of(TASK_3_NAME)));
+
+    assertThat(names(new IndexedTasksGraph(tasks).sort(TieBreaker.FAN_OUT)),
+        equalTo(Arrays.asList(TASK_2_NAME, TASK_1_NAME, TASK_3_NAME, TASK_4_NAME, TASK_5_NAME)));
+  }
+
+  @Test
+  void givenReadyTasks_whenSortingByInputOrder_thenReturnEarliestSubmittedFirst()
+      throws CircularDependencyDetectedException {
+    final List<Task> tasks = Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Set.of(TASK_1_NAME)),
+        new Task(TASK_3_NAME, TASK_COMMAND, Collections.emptySet()));
+
+    assertThat(names(new IndexedTasksGraph(tasks).sort(TieBreaker.INPUT_ORDER)),
+        equalTo(Arrays.asList(TASK_1_NAME, TASK_2_NAME, TASK_3_NAME)));
+    assertThat(names(new IndexedTasksGraph(tasks).sort(TieBreaker.LEVEL)),
+        equalTo(Arrays.asList(TASK_1_NAME, TASK_3_NAME, TASK_2_NAME)));
+  }
+
+  @ParameterizedTest
+  @EnumSource(TieBreaker.class)
+  void givenRandomAcyclicGraph_whenSortingWithTieBreaker_thenPrerequisitesComeFirst(
+      final TieBreaker tieBreaker) throws CircularDependencyDetectedException {
+    final List<Task> tasks = givenRandomAcyclicTasks(new Random(5L), 500, 4);
+
+    final Set<String> completed = new HashSet<>();
+    for (final Task task : new IndexedTasksGraph(tasks).sort(tieBreaker)) {
+      assertThat(completed.containsAll(task.requires()), equalTo(true));
+      completed.add(task.name());
+    }
+    assertThat(completed.size(), equalTo(tasks.size()));
+  }
+
+  @ParameterizedTest
+  @EnumSource(TieBreaker.class)
+  void givenCircularDependency_whenSortingWithTieBreaker_thenThrow(final TieBreaker tieBreaker) {
+    final List<Task> tasks = Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Set.of(TASK_2_NAME)),
+        new Task(TASK_2_NAME, TASK_COMMAND, Set.of(TASK_1_NAME)));
+
+    assertThrows(CircularDependencyDetectedException.class,
+        () -> new IndexedTasksGraph(tasks).sort(tieBreaker));
+  }
+
+  @Test
+  void givenCompletedTasks_whenResuming_thenSortOnlyPendingTasks()
+      throws CircularDependencyDetectedException {
+    final List<Task> tasks = givenSevenTasksWithMultiplePrerequisites();
+    final IndexedTasksGraph graph = new IndexedTasksGraph(tasks);
+    final BitSet completed = new BitSet();
+    completed.set(0);
+    completed.set(1);
+    completed.set(6);
+
+    final IndexedTasksGraph pending = graph.subgraph(graph.pending(completed));
+
+    assertThat(names(pending.sort()),
+        equalTo(Arrays.asList(TASK_3_NAME, TASK_6_NAME, TASK_4_NAME, TASK_5_NAME)));
+    assertThat(pending.edgeCount(), equalTo(3));
+  }
+
+  @Test
+  void givenCompletedTaskDownstreamOfPendingTask_whenResuming_thenRunItAgain() {
+    final List<Task> tasks = givenSevenTasksWithMultiplePrerequisites();
+    final IndexedTasksGraph graph = new IndexedTasksGraph(tasks);
+    final BitSet completed = new BitSet();
+    completed.set(0, tasks.size());
+    completed.clear(1);
+
+    final BitSet pending = graph.pending(completed);
+
+    assertThat(pending.stream().mapToObj(id -> tasks.get(id).name()).toList(),
+        equalTo(Arrays.asList(TASK_2_NAME, TASK_3_NAME, TASK_4_NAME, TASK_5_NAME, TASK_6_NAME)));
+  }
+
+  @Test
+  void givenEveryTaskCompleted_whenResuming_thenNothingIsPending()
+      throws CircularDependencyDetectedException {
+    final List<Task> tasks = givenSevenTasksWithMultiplePrerequisites();
+    final IndexedTasksGraph graph = new IndexedTasksGraph(tasks);
+    final BitSet completed = new BitSet();
+    completed.set(0, tasks.size());
+
+    assertThat(graph.subgraph(graph.pending(completed)).sort(), equalTo(Collections.emptyList()));
+  }
+
+  private static List<Task> givenSevenTasksWithMultiplePrerequisites() {
+    return Arrays.asList(
+        new Task(TASK_1_NAME, TASK_COMMAND, Collections.emptySet()),
+        new Task(TASK_2_NAME, TASK_COMMAND, Set.of(TASK_1_NAME, TASK_7_NAME)),
+        new Task(TASK_3_NAME, TASK_COMMAND, Set.of(TASK_1_NAME, TASK_2_NAME)),
+        new Task(TASK_4_NAME, TASK_COMMAND, Set.of(TASK_6_NAME, TASK_3_NAME)),
+        new Task(TASK_5_NAME, TASK_COMMAND, Set.of(TASK_6_NAME)),
+        new Task(TASK_6_NAME, TASK_COMMAND, Set.of(TASK_7_NAME, TASK_2_NAME)),
+        new Task(TASK_7_NAME, TASK_COMMAND, Collections.emptySet()));
+  }
+
+  private static List<Task> givenDisjointCycles(final int count) {
+    final List<Task> tasks = new ArrayList<>();
+    for (int index = 0; index < 2 * count; index += 2) {
+      tasks.add(new Task("task-" + index, TASK_COMMAND, Set.of("task-" + (index + 1))));
+      tasks.add(new Task("task-" + (index + 1), TASK_COMMAND, Set.of("task-" + index)));
+    }
+    return tasks;
+  }
+
+  private static List<Task> givenRandomAcyclicTasks(final Random random, final int size,
+      final int maxPrerequisites) {
+    final List<Task> tasks = new ArrayList<>(size);
+    for (int index = 0; index < size; index++) {
+      final Set<String> requires = new HashSet<>();
+      final int prerequisites = index == 0 ? 0 : random.nextInt(Math.min(index, maxPrerequisites));
+      for (int prerequisite = 0; prerequisite < prerequisites; prerequisite++) {
+        requires.add("task-" + random.nextInt(index));
+      }
+      tasks.add(new Task("task-" + index, "command " + index, requires));
+    }
+    Collections.shuffle(tasks, random);
+    return tasks;
+  }
+
+  private static List<Task> copy(final List<Task> tasks) {
+    return tasks.stream()
+        .map(task -> new Task(task.name(), task.command(), new HashSet<>(task.requires())))
+        .toList();
+  }
+
+  private static List<String> names(final List<Task> tasks) {
+    return tasks.stream().map(Task::name).toList();
+  }
+}
@@ -0,0 +1,117 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.models.Task;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class ParallelTasksSorterTest {
+
+  private static final String TASK_COMMAND = "task command";
+
+  private ForkJoinPool pool;
+
+  @BeforeEach
+  void setUp() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 100, 10_000})
+  void givenIndependentSubPipelines_thenSortEveryComponentInOrder(final int threshold)
+      throws CircularDependencyDetectedException {
+    final List<Task> tasks = givenRandomSubPipelines(new Random(threshold), 5000, 7);
+    final ParallelTasksSorter sorter = new ParallelTasksSorter(pool, threshold);
+
+    final List<Task> sorted = sorter.sort(new IndexedTasksGraph(tasks));
+
+    assertTopologicalOrder(sorted, tasks.size());
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {1L, 7L, 42L})
+  void givenSingleLargeComponent_thenSortLevelByLevelDeterministically(final long seed)
+      throws CircularDependencyDetectedException {
+    final List<Task> tasks = givenRandomSubPipelines(new Random(seed), 20_000, 1);
+    final ParallelTasksSorter sorter = new ParallelTasksSorter(pool, 1);
+    final IndexedTasksGraph graph = new IndexedTasksGraph(tasks);
+
+    final List<Task> sorted = sorter.sort(graph);
+
+    assertTopologicalOrder(sorted, tasks.size());
+    assertThat(sorter.sort(graph), equalTo(sorted));
+  }
+
+  @Test
+  void givenSmallGraph_thenUseTheSequentialOrder() throws CircularDependencyDetectedException {
+    final IndexedTasksGraph graph = new IndexedTasksGraph(
+        givenRandomSubPipelines(new Random(3L), 500, 3));
+
+    assertThat(new ParallelTasksSorter(pool, 1000).sort(graph), equalTo(graph.sort()));
+  }
+
+  @Test
+  void givenCycleInOneComponent_thenReportIt() {
+    final List<Task> tasks = new ArrayList<>(givenRandomSubPipelines(new Random(5L), 1000, 4));
+    tasks.add(new Task("cycle-1", TASK_COMMAND, Set.of("cycle-2")));
+    tasks.add(new Task("cycle-2", TASK_COMMAND, Set.of("cycle-1")));
+
+    final CircularDependencyDetectedException exception = assertThrows(
+        CircularDependencyDetectedException.class,
+        () -> new ParallelTasksSorter(pool, 1).sortIndices(new IndexedTasksGraph(tasks)));
+
+    assertThat(new HashSet<>(exception.getCycles().get(0).members()),
+        equalTo(Set.of("cycle-1", "cycle-2")));
+  }
+
+  private static List<Task> givenRandomSubPipelines(final Random random, final int size,
+      final int pipelines) {
+    final List<Task> tasks = new ArrayList<>(size);
+    for (int index = 0; index < size; index++) {
+      final Set<String> requires = new HashSet<>();
+      final int earlier = index / pipelines;
+      final int prerequisites = earlier > 0 ? random.nextInt(4) : 0;
+      for (int prerequisite = 0; prerequisite < prerequisites; prerequisite++) {
+        requires.add("task-" + (random.nextInt(earlier) * pipelines + index % pipelines));
+      }
+      tasks.add(new Task("task-" + index, TASK_COMMAND, requires));
+    }
+    Collections.shuffle(tasks, random);
+    return tasks;
+  }
+
+  private static void assertTopologicalOrder(final List<Task> sorted, final int size) {
+    final Map<String, Integer> positions = new HashMap<>();
+    for (int position = 0; position < sorted.size(); position++) {
+      positions.put(sorted.get(position).name(), position);
+    }
+    assertThat(positions.size(), equalTo(size));
+    for (final Task task : sorted) {
+      for (final String prerequisite : task.requires()) {
+        assertThat(positions.get(prerequisite), lessThan(positions.get(task.name())));
+      }
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.exceptions.InvalidTasksException;
+import com.krterziev.jobprocessor.models.Task;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TasksGraphBuilderTest {
+
+  private static final String TASK_1_NAME = "task-1";
+  private static final String TASK_2_NAME = "task-2";
+  private static final String TASK_3_NAME = "task-3";
+  private static final String TASK_COMMAND = "task command";
+
+  @Test
+  void givenForwardReferencedPrerequisites_thenSortInOrder()
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final TasksGraphBuilder builder = new TasksGraphBuilder();
+    builder.addTask(TASK_3_NAME, TASK_COMMAND, Arrays.asList(TASK_1_NAME, TASK_2_NAME));
+    builder.addTask(TASK_1_NAME, TASK_COMMAND, Collections.emptyList());
+    builder.addTask(TASK_2_NAME, TASK_COMMAND, null);
+
+    final IndexedTasksGraph graph = builder.build();
+
+    assertThat(names(graph.sort()), equalTo(Arrays.asList(TASK_1_NAME, TASK_2_NAME, TASK_3_NAME)));
+  }
+
+  @Test
+  void givenRepeatedPrerequisite_thenCountItOnce()
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final TasksGraphBuilder builder = new TasksGraphBuilder();
+    builder.addTask(TASK_1_NAME, TASK_COMMAND, Collections.emptyList());
+    builder.addTask(TASK_2_NAME, TASK_COMMAND, Arrays.asList(TASK_1_NAME, TASK_1_NAME));
+
+    final IndexedTasksGraph graph = builder.build();
+
+    assertThat(graph.edgeCount(), equalTo(1));
+    assertThat(names(graph.sort()), equalTo(Arrays.asList(TASK_1_NAME, TASK_2_NAME)));
+  }
+
+  @Test
+  void givenPresizedBuilder_whenAddingMoreTasksThanExpected_thenGrow()
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final TasksGraphBuilder builder = new TasksGraphBuilder(1);
+    for (int index = 0; index < 100; index++) {
+      builder.addTask("task-" + index, TASK_COMMAND,
+          index == 0 ? null : Collections.singletonList("task-" + (index - 1)));
+    }
+
+    final IndexedTasksGraph graph = builder.build();
+
+    assertThat(graph.size(), equalTo(100));
+    assertThat(graph.sort().get(99).name(), equalTo("task-99"));
+  }
+
+  @Test
+  void givenUnknownPrerequisite_thenThrowOnBuild() throws InvalidTasksException {
+    final TasksGraphBuilder builder = new TasksGraphBuilder();
+    builder.addTask(TASK_1_NAME, TASK_COMMAND, Collections.singletonList("invalid-task-name"));
+
+    assertThrows(InvalidTasksException.class, builder::build);
+  }
+
+  @Test
+  void givenDuplicateTaskName_thenThrowOnAdd() throws InvalidTasksException {
+    final TasksGraphBuilder builder = new TasksGraphBuilder();
+    builder.addTask(TASK_1_NAME, TASK_COMMAND, Collections.emptyList());
+
+    assertThrows(InvalidTasksException.class,
+        () -> builder.addTask(TASK_1_NAME, TASK_COMMAND, Collections.emptyList()));
+  }
+
+  @Test
+  void givenTargets_thenKeepOnlyTheirPrerequisites()
+      throws InvalidTasksException, CircularDependencyDetectedException {
+    final TasksGraphBuilder builder = new TasksGraphBuilder();
+    builder.addTask(TASK_3_NAME, TASK_COMMAND, Collections.singletonList(TASK_2_NAME));
+    builder.addTask(TASK_1_NAME, TASK_COMMAND, Collections.singletonList("invalid-task-name"));
+    builder.addTask(TASK_2_NAME, TASK_COMMAND, null);
+    builder.addTask("task-4", TASK_COMMAND, Collections.singletonList(TASK_3_NAME));
+
+    final IndexedTasksGraph graph = builder.build(Collections.singletonList(TASK_3_NAME));
+
+    assertThat(graph.size(), equalTo(2));
+    assertThat(graph.edgeCount(), equalTo(1));
+    assertThat(names(graph.sort()), equalTo(Arrays.asList(TASK_2_NAME, TASK_3_NAME)));
+  }
+
+  @Test
+  void givenUnknownTarget_thenThrowOnBuild() throws InvalidTasksException {
+    final TasksGraphBuilder builder = new TasksGraphBuilder();
+    builder.addTask(TASK_1_NAME, TASK_COMMAND, Collections.emptyList());
+
+    assertThrows(InvalidTasksException.class,
+        () -> builder.build(Collections.singletonList(TASK_2_NAME)));
+  }
+
+  @Test
+  void givenTargetWithUnknownPrerequisite_thenThrowOnBuild() throws InvalidTasksException {
+    final TasksGraphBuilder builder = new TasksGraphBuilder();
+    builder.addTask(TASK_1_NAME, TASK_COMMAND, Collections.singletonList("invalid-task-name"));
+    builder.addTask(TASK_2_NAME, TASK_COMMAND, Collections.singletonList(TASK_1_NAME));
+
+    assertThrows(InvalidTasksException.class,
+        () -> builder.build(Collections.singletonList(TASK_2_NAME)));
+  }
+
+  private static List<String> names(final List<Task> tasks) {
+    return tasks.stream().map(Task::name).toList();
+  }
+}
@@ -0,0 +1,158 @@
+package com.krterziev.jobprocessor.scheduling;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.krterziev.jobprocessor.exceptions.CircularDependencyDetectedException;
+import com.krterziev.jobprocessor.models.Task;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TransitiveReducerTest {
+
+  private static final String TASK_COMMAND = "task command";
+
+  private ForkJoinPool pool;
+
+  @BeforeEach
+  void setUp() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterEach
+  void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  void givenTransitivePrerequisite_whenReducing_thenRemoveIt()
+      throws CircularDependencyDetectedException {
+    final IndexedTasksGraph graph = new IndexedTasksGraph(Arrays.asList(
+        new Task("task-1", TASK_COMMAND, Set.of("task-2", "task-3")),
+        new Task("task-2", TASK_COMMAND, Set.of("task-3")),
+        new Task("task-3", TASK_COMMAND, Collections.emptySet())));
+
+    final TransitiveReduction reduction = new TransitiveReducer(pool, Integer.MAX_VALUE)
+        .reduce(graph);
+
+    assertThat(reduction.removedEdges(), equalTo(1));
+    assertThat(reduction.graph().edgeCount(), equalTo(2));
+    assertThat(reduction.graph().prerequisiteCount(0), equalTo(1));
+    assertThat(reduction.graph().sort(), equalTo(graph.sort()));
+  }
+
+  @Test
+  void givenDiamond_whenReducing_thenKeepEveryEdge() throws CircularDependencyDetectedException {
+    final IndexedTasksGraph graph = new IndexedTasksGraph(Arrays.asList(
+        new Task("task-1", TASK_COMMAND, Collections.emptySet()),
+        new Task("task-2", TASK_COMMAND, Set.of("task-1")),
+        new Task("task-3", TASK_COMMAND, Set.of("task-1")),
+        new Task("task-4", TASK_COMMAND, Set.of("task-2", "task-3"))));
+
+    final TransitiveReduction reduction = new TransitiveReducer(pool, Integer.MAX_VALUE)
+        .reduce(graph);
+
+    assertThat(reduction.removedEdges(), equalTo(0));
+    assertThat(reduction.graph().edgeCount(), equalTo(4));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {100, 20_000})
+  void givenRandomGraph_whenReducing_thenKeepOnlyEdgesNotImpliedByAnotherPath(final int size)
+      throws CircularDependencyDetectedException {
+    final IndexedTasksGraph graph = new IndexedTasksGraph(givenRandomTasks(new Random(size),
+        size));
+
+    final TransitiveReduction sequential = new TransitiveReducer(pool, Integer.MAX_VALUE)
+        .reduce(graph);
+    final TransitiveReduction parallel = new TransitiveReducer(pool, 1).reduce(graph);
+
+    final BitSet[] reachable = reachable(graph);
+    assertThat(edges(sequential.graph()), equalTo(expectedEdges(graph, reachable)));
+    assertThat(edges(parallel.graph()), equalTo(edges(sequential.graph())));
+    assertThat(reachable(sequential.graph()), equalTo(reachable));
+    assertThat(sequential.removedEdges(), equalTo(
+        graph.edgeCount() - sequential.graph().edgeCount()));
+  }
+
+  @Test
+  void givenCycle_whenReducing_thenReportIt() {
+    final IndexedTasksGraph graph = new IndexedTasksGraph(Arrays.asList(
+        new Task("task-1", TASK_COMMAND, Set.of("task-2")),
+        new Task("task-2", TASK_COMMAND, Set.of("task-1"))));
+
+    assertThrows(CircularDependencyDetectedException.class,
+        () -> new TransitiveReducer(pool, 1).reduce(graph));
+  }
+
+  private static List<Task> givenRandomTasks(final Random random, final int size) {
+    final List<Task> tasks = new ArrayList<>(size);
+    for (int index = 0; index < size; index++) {
+      final Set<String> requires = new HashSet<>();
+      final int prerequisites = index > 0 ? random.nextInt(5) : 0;
+      for (int prerequisite = 0; prerequisite < prerequisites; prerequisite++) {
+        requires.add("task-" + (index - 1 - random.nextInt(Math.min(index, 20))));
+      }
+      tasks.add(new Task("task-" + index, TASK_COMMAND, requires));
+    }
+    Collections.shuffle(tasks, random);
+    return tasks;
+  }
+
+  private static BitSet[] reachable(final IndexedTasksGraph graph)
+      throws CircularDependencyDetectedException {
+    final int[] order = graph.sortIndices();
+    final BitSet[] reachable = new BitSet[graph.size()];
+    for (int index = order.length - 1; index >= 0; index--) {
+      final int id = order[index];
+      reachable[id] = new BitSet(graph.size());
+      for (int edge = graph.dependentEdgesStart(id); edge < graph.dependentEdgesEnd(id); edge++) {
+        reachable[id].set(graph.dependent(edge));
+        reachable[id].or(reachable[graph.dependent(edge)]);
+      }
+    }
+    return reachable;
+  }
+
+  private static Set<List<Integer>> expectedEdges(final IndexedTasksGraph graph,
+      final BitSet[] reachable) {
+    final Set<List<Integer>> edges = new HashSet<>();
+    for (int id = 0; id < graph.size(); id++) {
+      for (int edge = graph.dependentEdgesStart(id); edge < graph.dependentEdgesEnd(id); edge++) {
+        final int dependent = graph.dependent(edge);
+        boolean implied = false;
+        for (int other = graph.dependentEdgesStart(id); other < graph.dependentEdgesEnd(id);
+            other++) {
+          implied |= reachable[graph.dependent(other)].get(dependent);
+        }
+        if (!implied) {
+          edges.add(List.of(id, dependent));
+        }
+      }
+    }
+    return edges;
+  }
+
+  private static Set<List<Integer>> edges(final IndexedTasksGraph graph) {
+    final Set<List<Integer>> edges = new HashSet<>();
+    for (int id = 0; id < graph.size(); id++) {
+      for (int edge = graph.dependentEdgesStart(id); edge < graph.dependentEdgesEnd(id); edge++) {
+        edges.add(List.of(id, graph.dependent(edge)));
+      }
+    }
+    return edges;
+  }
+}
@@ -0,0 +1,77 @@
+package com.krterziev.jobprocessor.storage;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.krterziev.jobprocessor.jobs.Job;
+import com.krterziev.jobprocessor.jobs.JobStatus;
+import com.krterziev.jobprocessor.jobs.JobType;
+import com.krterziev.jobprocessor.payload.response.TaskResponse;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+public class JobStoreTest {
+
+  private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void givenFinishedJob_whenReopening_thenFindItWithItsResult() throws IOException {
+    final Job job = new Job("job-1", JobType.SORT, Instant.now());
+    try (final JobStore store = givenJobStore(true)) {
+      store.save(job);
+      job.addListener(store);
+      job.succeed(List.of(new TaskResponse("task-1", "command 1")));
+    }
+
+    try (final JobStore store = givenJobStore(true)) {
+      final Job restored = store.find(job.id()).orElseThrow();
+
+      assertThat(restored.status(), equalTo(JobStatus.SUCCEEDED));
+      assertThat(restored.type(), equalTo(JobType.SORT));
+      assertThat(restored.submittedAt(), equalTo(job.submittedAt()));
+      assertThat(restored.completedAt(), equalTo(job.completedAt()));
+      assertThat(restored.result(), equalTo(List.of(new TaskResponse("task-1", "command 1"))));
+    }
+  }
+
+  @Test
+  void givenUnfinishedJob_whenReopening_thenFindItFailed() throws IOException {
+    final Job job = new Job("job-1", JobType.EXECUTE, Instant.now());
+    try (final JobStore store = givenJobStore(true)) {
+      store.save(job);
+    }
+
+    try (final JobStore store = givenJobStore(true)) {
+      final Job restored = store.find(job.id()).orElseThrow();
+
+      assertThat(restored.status(), equalTo(JobStatus.FAILED));
+      assertThat(restored.error(), equalTo(JobStore.INTERRUPTED_ERROR));
+    }
+  }
+
+  @Test
+  void givenDisabledStore_whenFinding_thenReturnNothing() throws IOException {
+    try (final JobStore store = givenJobStore(false)) {
+      final Job job = new Job("job-1", JobType.SORT, Instant.now());
+      store.save(job);
+
+      assertThat(store.find(job.id()).isPresent(), equalTo(false));
+    }
+  }
+
+  private JobStore givenJobStore(final boolean enabled) throws IOException {
+    return new JobStore(objectMapper, enabled, directory.toString(), DataSize.ofKilobytes(64),
+        Duration.ofHours(1));
+  }
+}
@@ -0,0 +1,153 @@
+package com.krterziev.jobprocessor.storage;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SegmentLogTest {
+
+  private static final int SEGMENT_SIZE = 256;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void givenAppendedRecords_whenReading_thenReturnLatestValuePerKey() throws IOException {
+    try (final SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE)) {
+      log.append("job-1", bytes("queued"));
+      log.append("job-2", bytes("queued"));
+      log.append("job-1", bytes("succeeded"));
+
+      assertThat(string(log.read("job-1")), equalTo("succeeded"));
+      assertThat(string(log.read("job-2")), equalTo("queued"));
+      assertThat(log.read("job-3").isPresent(), equalTo(false));
+      assertThat(log.size(), equalTo(2));
+    }
+  }
+
+  @Test
+  void givenReopenedLog_whenReading_thenRecoverEveryRecord() throws IOException {
+    try (final SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE)) {
+      for (int index = 0; index < 50; index++) {
+        log.append("job-" + index % 10, bytes("value-" + index));
+      }
+    }
+
+    try (final SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE)) {
+      assertThat(log.size(), equalTo(10));
+      for (int index = 0; index < 10; index++) {
+        assertThat(string(log.read("job-" + index)), equalTo("value-" + (40 + index)));
+      }
+      log.append("job-10", bytes("appended"));
+      assertThat(string(log.read("job-10")), equalTo("appended"));
+    }
+  }
+
+  @Test
+  void givenTornRecord_whenReopening_thenRecoverUpToIt() throws IOException {
+    try (final SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE)) {
+      log.append("job-1", bytes("first"));
+      log.append("job-2", bytes("second"));
+    }
+    // Flip a byte of the second record's value, as if the crash happened while it was written.
+    try (final FileChannel channel = FileChannel.open(onlySegment(), StandardOpenOption.WRITE)) {
+      final int secondValue = 2 * (8 + 2 + "job-1".length()) + "first".length();
+      channel.write(ByteBuffer.wrap(new byte[]{'X'}), secondValue);
+    }
+
+    try (final SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE)) {
+      assertThat(string(log.read("job-1")), equalTo("first"));
+      assertThat(log.read("job-2").isPresent(), equalTo(false));
+      log.append("job-3", bytes("third"));
+    }
+    try (final SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE)) {
+      assertThat(string(log.read("job-3")), equalTo("third"));
+    }
+  }
+
+  @Test
+  void givenTornRecordBeforeIntactOne_whenAppendingOverIt_thenNeverRecoverTheStaleRecord()
+      throws IOException {
+    try (final SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE)) {
+      log.append("job-1", bytes("first"));
+      log.append("job-2", bytes("second"));
+      log.append("job-3", bytes("third"));
+    }
+    // Zero the second record's length, which is written last, as if the crash tore it.
+    try (final FileChannel channel = FileChannel.open(onlySegment(), StandardOpenOption.WRITE)) {
+      final int secondRecord = 8 + 2 + "job-1".length() + "first".length();
+      channel.write(ByteBuffer.wrap(new byte[Integer.BYTES]), secondRecord);
+    }
+
+    try (final SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE)) {
+      assertThat(log.read("job-3").isPresent(), equalTo(false));
+      // Exactly as long as the torn record, so it ends where the stale third record starts.
+      log.append("job-4", bytes("fourth"));
+    }
+    try (final SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE)) {
+      assertThat(string(log.read("job-4")), equalTo("fourth"));
+      assertThat(log.read("job-3").isPresent(), equalTo(false));
+      assertThat(log.size(), equalTo(2));
+    }
+  }
+
+  @Test
+  void givenRecordLargerThanSegment_whenAppending_thenStoreItInItsOwnSegment()
+      throws IOException {
+    final String large = "x".repeat(SEGMENT_SIZE * 3);
+    try (final SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE)) {
+      log.append("job-1", bytes("small"));
+      log.append("job-2", bytes(large));
+
+      assertThat(string(log.read("job-2")), equalTo(large));
+      assertThat(log.segmentCount(), equalTo(2));
+    }
+  }
+
+  @Test
+  void givenSupersededRecords_whenCompacting_thenDropSegmentsAndKeepLatestValues()
+      throws IOException {
+    try (final SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE)) {
+      for (int index = 0; index < 100; index++) {
+        log.append("job-" + index % 3, bytes("value-" + index));
+      }
+      final int segments = log.segmentCount();
+
+      log.compact(0.5);
+
+      assertThat(log.segmentCount() < segments, equalTo(true));
+      assertThat(string(log.read("job-0")), equalTo("value-99"));
+      assertThat(string(log.read("job-1")), equalTo("value-97"));
+      assertThat(string(log.read("job-2")), equalTo("value-98"));
+    }
+    try (final SegmentLog log = new SegmentLog(directory, SEGMENT_SIZE)) {
+      assertThat(log.size(), equalTo(3));
+      assertThat(string(log.read("job-0")), equalTo("value-99"));
+    }
+  }
+
+  private Path onlySegment() throws IOException {
+    try (final Stream<Path> files = Files.list(directory)) {
+      return files.findFirst().orElseThrow();
+    }
+  }
+
+  private static byte[] bytes(final String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String string(final Optional<byte[]> value) {
+    return new String(value.orElseThrow(), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,111 @@
+package com.krterziev.jobprocessor.transformers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class StringTableTest {
+
+  @Test
+  void givenEqualStrings_whenInterned_thenReturnFirstInstance() {
+    final StringTable table = new StringTable();
+    final String first = new String("echo task");
+
+    assertThat(table.intern(first), sameInstance(first));
+    assertThat(table.intern(new String("echo task")), sameInstance(first));
+    assertThat(table.intern("echo other"), not(sameInstance(first)));
+    assertThat(table.size(), equalTo(2));
+  }
+
+  @Test
+  void givenCharacters_whenInterned_thenShareInstanceWithInternedString() {
+    final StringTable table = new StringTable();
+    final String first = table.intern(new String("task-1"));
+    final char[] buffer = "[task-1, task-2]".toCharArray();
+
+    assertThat(table.intern(buffer, 1, 6), sameInstance(first));
+    assertThat(table.intern(buffer, 9, 6), equalTo("task-2"));
+    assertThat(table.intern("task-2"), sameInstance(table.intern(buffer, 9, 6)));
+  }
+
+  @Test
+  void givenManyStrings_whenTableGrows_thenKeepEveryInstance() {
+    final StringTable table = new StringTable(1);
+    final String[] strings = new String[1000];
+    for (int index = 0; index < strings.length; index++) {
+      strings[index] = table.intern("task-" + index);
+    }
+
+    for (int index = 0; index < strings.length; index++) {
+      assertThat(table.intern("task-" + index), sameInstance(strings[index]));
+    }
+    assertThat(table.size(), equalTo(1000));
+  }
+
+  @Test
+  void givenRepeatedString_whenEncoded_thenKeepEncodingFromSecondRequest() {
+    final StringTable table = new StringTable();
+    final String command = "echo caf\u00e9";
+
+    final byte[] first = table.utf8(command);
+    final byte[] second = table.utf8(command);
+
+    assertThat(first, equalTo(command.getBytes(StandardCharsets.UTF_8)));
+    assertThat(second, equalTo(first));
+    assertThat(table.utf8(command), sameInstance(second));
+  }
+
+  @Test
+  void givenFullTable_whenInterned_thenPassStringThrough() {
+    final StringTable table = new StringTable(2, 2);
+    table.intern("task-1");
+    table.intern("task-2");
+    final String overflow = new String("task-3");
+
+    assertThat(table.intern(overflow), sameInstance(overflow));
+    assertThat(table.intern(new String("task-3")), not(sameInstance(overflow)));
+    assertThat(table.utf8("task-4"), equalTo("task-4".getBytes(StandardCharsets.UTF_8)));
+    assertThat(table.size(), equalTo(2));
+  }
+
+  @Test
+  void givenCollidingStrings_whenInterned_thenStopInterningPastProbeLimit() {
+    final StringTable table = new StringTable();
+    final List<String> strings = givenCollidingStrings(10);
+    final String unrelated = table.intern(new String("echo task"));
+
+    for (final String string : strings) {
+      assertThat(table.intern(string), equalTo(string));
+      final char[] chars = string.toCharArray();
+      assertThat(table.intern(chars, 0, chars.length), equalTo(string));
+      assertThat(table.utf8(string), equalTo(string.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    assertThat(table.size(), lessThanOrEqualTo(StringTable.MAX_PROBES + 1));
+    assertThat(table.intern(strings.get(0)), sameInstance(strings.get(0)));
+    assertThat(table.intern(new String("echo task")), sameInstance(unrelated));
+  }
+
+  /**
+   * "Aa" and "BB" share a hash code, so all {@code 2^blocks} concatenations of them do too.
+   */
+  private static List<String> givenCollidingStrings(final int blocks) {
+    List<String> strings = List.of("");
+    for (int block = 0; block < blocks; block++) {
+      final List<String> longer = new ArrayList<>(strings.size() * 2);
+      for (final String string : strings) {
+        longer.add(string + "Aa");
+        longer.add(string + "BB");
+      }
+      strings = longer;
+    }
+    return strings;
+  }
+}